@@ -0,0 +1,219 @@
+package com.statemachinesystems.mockclock.benchmarks;
+
+import com.statemachinesystems.mockclock.MockClock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.Month;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Every {@code advanceBy*} and {@code set*} variant of {@link MockClock}.
+ * <p>
+ * Advances alternate direction on each invocation so the clock stays near its starting point however many
+ * invocations a run makes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AdjustBenchmark {
+
+    @Param({"Z", "Europe/London", "America/New_York"})
+    public String zoneId;
+
+    private MockClock mockClock;
+    private Instant instant;
+    private LocalDateTime localDateTime;
+    private LocalDate localDate;
+    private LocalTime localTime;
+    private Duration duration;
+    private Duration negatedDuration;
+    private int sign;
+
+    @Setup
+    public void setUp() {
+        ZoneId zone = ZoneId.of(zoneId);
+        ZonedDateTime start = ZonedDateTime.of(2016, 7, 1, 12, 30, 15, 123_456_789, zone);
+        mockClock = MockClock.at(start);
+        instant = start.plusHours(1).toInstant();
+        localDateTime = start.toLocalDateTime().plusHours(2);
+        localDate = start.toLocalDate().plusDays(3);
+        localTime = start.toLocalTime().plusMinutes(4);
+        duration = Duration.ofSeconds(5);
+        negatedDuration = duration.negated();
+        sign = 1;
+    }
+
+    private int nextSign() {
+        sign = -sign;
+        return sign;
+    }
+
+    @Benchmark
+    public MockClock advanceByDuration() {
+        return mockClock.advanceBy(nextSign() > 0 ? duration : negatedDuration);
+    }
+
+    @Benchmark
+    public MockClock advanceByTimeUnit() {
+        return mockClock.advanceBy(nextSign() * 5L, TimeUnit.SECONDS);
+    }
+
+    @Benchmark
+    public MockClock advanceByDays() {
+        return mockClock.advanceByDays(nextSign());
+    }
+
+    @Benchmark
+    public MockClock advanceByHours() {
+        return mockClock.advanceByHours(nextSign());
+    }
+
+    @Benchmark
+    public MockClock advanceByMinutes() {
+        return mockClock.advanceByMinutes(nextSign());
+    }
+
+    @Benchmark
+    public MockClock advanceBySeconds() {
+        return mockClock.advanceBySeconds(nextSign());
+    }
+
+    @Benchmark
+    public MockClock advanceByMillis() {
+        return mockClock.advanceByMillis(nextSign());
+    }
+
+    @Benchmark
+    public MockClock advanceByNanos() {
+        return mockClock.advanceByNanos(nextSign());
+    }
+
+    @Benchmark
+    public MockClock setInstant() {
+        return mockClock.set(instant);
+    }
+
+    @Benchmark
+    public MockClock setLocalDateTime() {
+        return mockClock.set(localDateTime);
+    }
+
+    @Benchmark
+    public MockClock setLocalDateAndLocalTime() {
+        return mockClock.set(localDate, localTime);
+    }
+
+    @Benchmark
+    public MockClock setLocalDate() {
+        return mockClock.set(localDate);
+    }
+
+    @Benchmark
+    public MockClock setLocalTime() {
+        return mockClock.set(localTime);
+    }
+
+    @Benchmark
+    public MockClock setDateAndTimeWithNanoResolution() {
+        return mockClock.set(2016, Month.AUGUST, 2, 9, 15, 30, 500);
+    }
+
+    @Benchmark
+    public MockClock setDateAndTimeWithSecondResolution() {
+        return mockClock.set(2016, Month.AUGUST, 2, 9, 15, 30);
+    }
+
+    @Benchmark
+    public MockClock setDateAndTimeWithMinuteResolution() {
+        return mockClock.set(2016, Month.AUGUST, 2, 9, 15);
+    }
+
+    @Benchmark
+    public MockClock setDate() {
+        return mockClock.set(2016, Month.AUGUST, 2);
+    }
+
+    @Benchmark
+    public MockClock setDateAndTimeWithIntegerMonthAndNanoResolution() {
+        return mockClock.set(2016, 8, 2, 9, 15, 30, 500);
+    }
+
+    @Benchmark
+    public MockClock setDateAndTimeWithIntegerMonthAndSecondResolution() {
+        return mockClock.set(2016, 8, 2, 9, 15, 30);
+    }
+
+    @Benchmark
+    public MockClock setDateAndTimeWithIntegerMonthAndMinuteResolution() {
+        return mockClock.set(2016, 8, 2, 9, 15);
+    }
+
+    @Benchmark
+    public MockClock setDateWithIntegerMonth() {
+        return mockClock.set(2016, 8, 2);
+    }
+
+    @Benchmark
+    public MockClock setYear() {
+        return mockClock.setYear(2017);
+    }
+
+    @Benchmark
+    public MockClock setMonth() {
+        return mockClock.setMonth(Month.AUGUST);
+    }
+
+    @Benchmark
+    public MockClock setIntegerMonth() {
+        return mockClock.setMonth(8);
+    }
+
+    @Benchmark
+    public MockClock setDayOfMonth() {
+        return mockClock.setDayOfMonth(2);
+    }
+
+    @Benchmark
+    public MockClock setHour() {
+        return mockClock.setHour(9);
+    }
+
+    @Benchmark
+    public MockClock setMinute() {
+        return mockClock.setMinute(15);
+    }
+
+    @Benchmark
+    public MockClock setSecond() {
+        return mockClock.setSecond(30);
+    }
+
+    @Benchmark
+    public MockClock setMilli() {
+        return mockClock.setMilli(250);
+    }
+
+    @Benchmark
+    public MockClock setNano() {
+        return mockClock.setNano(500);
+    }
+}
@@ -0,0 +1,95 @@
+package com.statemachinesystems.mockclock.benchmarks;
+
+import com.statemachinesystems.mockclock.MockClock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Mixed reader/writer workloads against one shared {@link MockClock}.
+ * <p>
+ * Each group pairs three reader threads with one writer thread; JMH reports the readers and the writer separately.
+ * Use {@code -tg} to change the mix, for example {@code -tg 7,1}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Group)
+public class ContentionBenchmark {
+
+    @Param({"Z", "Europe/London"})
+    public String zoneId;
+
+    private MockClock mockClock;
+
+    @Setup
+    public void setUp() {
+        ZoneId zone = ZoneId.of(zoneId);
+        mockClock = MockClock.at(ZonedDateTime.of(2016, 7, 1, 12, 30, 15, 0, zone));
+    }
+
+    @Benchmark
+    @Group("instantWithAdvance")
+    @GroupThreads(3)
+    public Instant instantReader() {
+        return mockClock.instant();
+    }
+
+    @Benchmark
+    @Group("instantWithAdvance")
+    @GroupThreads(1)
+    public MockClock instantAdvancer() {
+        return mockClock.advanceByNanos(1);
+    }
+
+    @Benchmark
+    @Group("millisWithAdvance")
+    @GroupThreads(3)
+    public long millisReader() {
+        return mockClock.millis();
+    }
+
+    @Benchmark
+    @Group("millisWithAdvance")
+    @GroupThreads(1)
+    public MockClock millisAdvancer() {
+        return mockClock.advanceByNanos(1);
+    }
+
+    @Benchmark
+    @Group("zonedDateTimeWithSetHour")
+    @GroupThreads(3)
+    public ZonedDateTime zonedDateTimeReader() {
+        return mockClock.toZonedDateTime();
+    }
+
+    @Benchmark
+    @Group("zonedDateTimeWithSetHour")
+    @GroupThreads(1)
+    public MockClock zonedDateTimeSetter() {
+        return mockClock.setHour(12);
+    }
+
+    @Benchmark
+    @Group("concurrentAdvances")
+    @GroupThreads(4)
+    public MockClock concurrentAdvancer() {
+        return mockClock.advanceByNanos(1);
+    }
+}
@@ -0,0 +1,107 @@
+package com.statemachinesystems.mockclock.benchmarks;
+
+import com.statemachinesystems.mockclock.MockClock;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Read paths of {@link MockClock}, with {@link Clock#fixed} and {@link Clock#offset} as baselines.
+ * <p>
+ * Runs single-threaded by default; pass {@code -t N} to measure N concurrent readers of one shared clock.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReadBenchmark {
+
+    @Param({"Z", "Europe/London", "America/New_York"})
+    public String zoneId;
+
+    private MockClock mockClock;
+    private Clock fixedClock;
+    private Clock offsetClock;
+    private ZoneId otherZone;
+
+    @Setup
+    public void setUp() {
+        ZoneId zone = ZoneId.of(zoneId);
+        Instant instant = ZonedDateTime.of(2016, 7, 1, 12, 30, 15, 123_456_789, zone).toInstant();
+        mockClock = MockClock.at(instant, zone);
+        fixedClock = Clock.fixed(instant, zone);
+        offsetClock = Clock.offset(fixedClock, Duration.ofHours(1));
+        otherZone = ZoneId.of("Asia/Tokyo");
+    }
+
+    @Benchmark
+    public Instant mockClockInstant() {
+        return mockClock.instant();
+    }
+
+    @Benchmark
+    public long mockClockMillis() {
+        return mockClock.millis();
+    }
+
+    @Benchmark
+    public long mockClockEpochNano() {
+        return mockClock.epochNano();
+    }
+
+    @Benchmark
+    public ZonedDateTime mockClockToZonedDateTime() {
+        return mockClock.toZonedDateTime();
+    }
+
+    @Benchmark
+    public Clock mockClockWithZone() {
+        return mockClock.withZone(otherZone);
+    }
+
+    @Benchmark
+    public Instant fixedClockInstant() {
+        return fixedClock.instant();
+    }
+
+    @Benchmark
+    public long fixedClockMillis() {
+        return fixedClock.millis();
+    }
+
+    @Benchmark
+    public ZonedDateTime fixedClockZonedDateTime() {
+        return ZonedDateTime.now(fixedClock);
+    }
+
+    @Benchmark
+    public Clock fixedClockWithZone() {
+        return fixedClock.withZone(otherZone);
+    }
+
+    @Benchmark
+    public Instant offsetClockInstant() {
+        return offsetClock.instant();
+    }
+
+    @Benchmark
+    public long offsetClockMillis() {
+        return offsetClock.millis();
+    }
+}
@@ -0,0 +1,57 @@
+package com.statemachinesystems.mockclock;
+
+/**
+ * The offset by which a {@link Timeline} runs ahead of its stored time when it is accelerated, derived from
+ * {@link System#nanoTime()} multiplied by a scale factor.
+ * <p>
+ * Changing the scale replaces the instance with one anchored at the moment of the change and carrying the offset
+ * accumulated so far, so the offset is continuous and never decreases. The replaced instance is first marked as
+ * retired, so that a reader which sampled {@link System#nanoTime()} after the change, but still holds the old
+ * instance, knows to fetch its replacement rather than extrapolate past the anchor at the old scale.
+ */
+final class Acceleration {
+
+    private final long anchorNanoTime;
+    private final double scale;
+    private final long accumulated;
+    private volatile boolean retired;
+
+    Acceleration(long anchorNanoTime, double scale, long accumulated) {
+        this.anchorNanoTime = anchorNanoTime;
+        this.scale = scale;
+        this.accumulated = accumulated;
+    }
+
+    double scale() {
+        return scale;
+    }
+
+    /**
+     * Compute the offset at the given reading of {@link System#nanoTime()}.
+     *
+     * @param nanoTime  the reading to use
+     * @return the offset in nanoseconds
+     */
+    long offset(long nanoTime) {
+        return accumulated + (long) ((nanoTime - anchorNanoTime) * scale);
+    }
+
+    boolean isRetired() {
+        return retired;
+    }
+
+    void retire() {
+        retired = true;
+    }
+
+    /**
+     * Rebase at the given reading of {@link System#nanoTime()} with a new scale factor.
+     *
+     * @param nanoTime  the reading at which the new scale takes effect
+     * @param scale  the new scale factor
+     * @return an {@link Acceleration} continuing from this one's offset
+     */
+    Acceleration withScale(long nanoTime, double scale) {
+        return new Acceleration(nanoTime, scale, offset(nanoTime));
+    }
+}
@@ -0,0 +1,202 @@
+package com.statemachinesystems.mockclock;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Ensemble of simulated node clocks sharing the timeline of a master {@link MockClock}, for testing distributed
+ * protocols under clock skew and drift.
+ * <p>
+ * Each {@link Node} shows the master time plus its own offset, plus a drift that accumulates in proportion to the
+ * master time elapsed, expressed in parts per million. Node times are computed from the master time on each read with
+ * primitive arithmetic, so nodes hold no timeline of their own: creating thousands of them is cheap, and a single
+ * advance of the master moves every node at once.
+ */
+public final class ClockGroup {
+
+    private static final double PARTS_PER_MILLION = 1_000_000;
+
+    private final MockClock master;
+
+    /**
+     * Construct a {@link ClockGroup} whose nodes follow the given master clock.
+     *
+     * @param master  the master clock
+     */
+    public ClockGroup(MockClock master) {
+        Objects.requireNonNull(master, "master");
+        this.master = master;
+    }
+
+    /**
+     * Retrieve the master clock that every node follows.
+     *
+     * @return the master {@link MockClock}
+     */
+    public MockClock master() {
+        return master;
+    }
+
+    /**
+     * Create a node that shows exactly the master time.
+     *
+     * @return a new {@link Node} with no offset or drift
+     */
+    public Node node() {
+        return node(Duration.ZERO, 0);
+    }
+
+    /**
+     * Create a node with the given offset from the master time and drift rate. Drift accumulates from the master's
+     * current time.
+     *
+     * @param offset  the node's current offset from the master time
+     * @param driftPpm  the rate at which the node gains time relative to the master, in parts per million, which may
+     *                  be negative
+     * @return a new {@link Node}
+     */
+    public Node node(Duration offset, double driftPpm) {
+        Objects.requireNonNull(offset, "offset");
+        Skew skew = new Skew(master.epochNano(), offset.toNanos(), checkDrift(driftPpm));
+        return new Node(master, new AtomicReference<>(skew), master.getZone());
+    }
+
+    private static double checkDrift(double driftPpm) {
+        if (!(driftPpm > -PARTS_PER_MILLION) || Double.isInfinite(driftPpm)) {
+            throw new IllegalArgumentException("driftPpm must be finite and greater than -1000000");
+        }
+        return driftPpm;
+    }
+
+    /**
+     * A node's skew relative to the master: its offset at an anchor time, and the drift accumulated since. Instances
+     * are immutable, so a node's skew is always read consistently.
+     */
+    private static final class Skew {
+
+        private final long anchorEpochNano;
+        private final long offsetNanos;
+        private final double driftPpm;
+
+        Skew(long anchorEpochNano, long offsetNanos, double driftPpm) {
+            this.anchorEpochNano = anchorEpochNano;
+            this.offsetNanos = offsetNanos;
+            this.driftPpm = driftPpm;
+        }
+
+        long offsetAt(long masterEpochNano) {
+            return offsetNanos + (long) ((masterEpochNano - anchorEpochNano) * driftPpm / PARTS_PER_MILLION);
+        }
+    }
+
+    /**
+     * A {@link Clock} showing the master time adjusted by this node's offset and drift.
+     */
+    public static final class Node extends Clock {
+
+        private final MockClock master;
+        private final AtomicReference<Skew> skew;
+        private final ZoneId zone;
+
+        private Node(MockClock master, AtomicReference<Skew> skew, ZoneId zone) {
+            this.master = master;
+            this.skew = skew;
+            this.zone = zone;
+        }
+
+        /**
+         * Retrieve the node's current time as the number of nanoseconds since the epoch, without allocating an
+         * {@link Instant}.
+         *
+         * @return the number of nanoseconds since 1970-01-01T00:00:00Z
+         */
+        public long epochNano() {
+            long masterEpochNano = master.epochNano();
+            return masterEpochNano + skew.get().offsetAt(masterEpochNano);
+        }
+
+        /**
+         * Retrieve the node's current offset from the master time, including accumulated drift.
+         *
+         * @return the node's offset
+         */
+        public Duration offset() {
+            return Duration.ofNanos(skew.get().offsetAt(master.epochNano()));
+        }
+
+        /**
+         * Retrieve the node's drift rate.
+         *
+         * @return the rate at which the node gains time relative to the master, in parts per million
+         */
+        public double driftPpm() {
+            return skew.get().driftPpm;
+        }
+
+        /**
+         * Step the node to the given offset from the master time, discarding accumulated drift.
+         *
+         * @param offset  the node's new offset from the master time
+         * @return this {@link Node} instance
+         */
+        public Node setOffset(Duration offset) {
+            Objects.requireNonNull(offset, "offset");
+            long offsetNanos = offset.toNanos();
+            skew.updateAndGet(current ->
+                    new Skew(master.epochNano(), offsetNanos, current.driftPpm));
+            return this;
+        }
+
+        /**
+         * Change the node's drift rate from now on, retaining the offset accumulated so far.
+         *
+         * @param driftPpm  the rate at which the node gains time relative to the master, in parts per million, which
+         *                  may be negative
+         * @return this {@link Node} instance
+         */
+        public Node setDriftPpm(double driftPpm) {
+            checkDrift(driftPpm);
+            skew.updateAndGet(current -> {
+                long masterEpochNano = master.epochNano();
+                return new Skew(masterEpochNano, current.offsetAt(masterEpochNano), driftPpm);
+            });
+            return this;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return zone;
+        }
+
+        /**
+         * Retrieve a view of this node in the given zone. The view shares this node's offset and drift.
+         *
+         * @param zone  the zone to use
+         * @return a {@link Node} sharing this node's skew in the given zone
+         */
+        @Override
+        public Node withZone(ZoneId zone) {
+            Objects.requireNonNull(zone, "zone");
+            return new Node(master, skew, zone);
+        }
+
+        @Override
+        public Instant instant() {
+            return MockClock.toInstant(epochNano());
+        }
+
+        @Override
+        public long millis() {
+            return Math.floorDiv(epochNano(), MockClock.NANOS_PER_MILLI);
+        }
+
+        @Override
+        public String toString() {
+            return "ClockGroup.Node[" + instant() + "," + zone + "]";
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.statemachinesystems.mockclock;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.LongConsumer;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Evenly spaced instants from a start, inclusive, to an end, exclusive.
+ * <p>
+ * The instants are streamed as primitive nanoseconds since the epoch, so no {@link Instant} is allocated per point,
+ * and each is determined by its index alone, so any part of the range can be generated independently. The stream's
+ * {@link Spliterator} splits a range into halves of equal size, so a parallel stream spreads the points evenly across
+ * cores; since a single {@link MockClock} can only show one time at once, parallel work that needs a clock should use
+ * a {@link MockClock#fork() fork} per worker.
+ */
+public final class InstantRange {
+
+    private final long startEpochNano;
+    private final long stepNanos;
+    private final long size;
+
+    private InstantRange(long startEpochNano, long stepNanos, long size) {
+        this.startEpochNano = startEpochNano;
+        this.stepNanos = stepNanos;
+        this.size = size;
+    }
+
+    /**
+     * Construct an {@link InstantRange} from the given start to the given end by the given step.
+     *
+     * @param start  the first instant of the range
+     * @param end  the instant at which the range ends, which is itself excluded
+     * @param step  the positive duration between consecutive instants
+     * @return an {@link InstantRange} that is empty if the end is not after the start
+     */
+    public static InstantRange of(Instant start, Instant end, Duration step) {
+        Objects.requireNonNull(start, "start");
+        Objects.requireNonNull(end, "end");
+        Objects.requireNonNull(step, "step");
+        if (step.isNegative() || step.isZero()) {
+            throw new IllegalArgumentException("step must be positive");
+        }
+        long startEpochNano = MockClock.toEpochNano(start);
+        long endEpochNano = MockClock.toEpochNano(end);
+        long stepNanos = step.toNanos();
+        long size = endEpochNano <= startEpochNano
+                ? 0
+                : (Math.subtractExact(endEpochNano, startEpochNano) - 1) / stepNanos + 1;
+        return new InstantRange(startEpochNano, stepNanos, size);
+    }
+
+    /**
+     * Retrieve the number of instants in this range.
+     *
+     * @return the number of instants
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Stream the instants in this range as nanoseconds since the epoch, in order. The stream is sequential; call
+     * {@link LongStream#parallel()} to process the points across cores.
+     *
+     * @return a stream of nanoseconds since the epoch
+     */
+    public LongStream epochNanos() {
+        return StreamSupport.longStream(new RangeSpliterator(0, size), false);
+    }
+
+    /**
+     * Set the given clock to each instant in this range in turn, as {@link MockClock#set(Instant)} would, calling the
+     * given action at each one. Timers attached to the clock run as it moves forward, so the action sees the effects
+     * of any that fell due. The action may move the clock itself; it is set to the next instant regardless.
+     *
+     * @param clock  the clock to drive
+     * @param action  the action to call at each instant, which is passed the instant as nanoseconds since the epoch
+     */
+    public void drive(MockClock clock, LongConsumer action) {
+        Objects.requireNonNull(clock, "clock");
+        Objects.requireNonNull(action, "action");
+        for (long index = 0; index < size; index++) {
+            long epochNano = startEpochNano + index * stepNanos;
+            clock.setEpochNano(epochNano);
+            action.accept(epochNano);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "InstantRange[" + MockClock.toInstant(startEpochNano) + "," + Duration.ofNanos(stepNanos) + ","
+                + size + "]";
+    }
+
+    private final class RangeSpliterator implements Spliterator.OfLong {
+
+        private long index;
+        private final long fence;
+
+        RangeSpliterator(long index, long fence) {
+            this.index = index;
+            this.fence = fence;
+        }
+
+        @Override
+        public OfLong trySplit() {
+            long remaining = fence - index;
+            if (remaining < 2) {
+                return null;
+            }
+            long middle = index + remaining / 2;
+            RangeSpliterator prefix = new RangeSpliterator(index, middle);
+            index = middle;
+            return prefix;
+        }
+
+        @Override
+        public boolean tryAdvance(LongConsumer action) {
+            Objects.requireNonNull(action, "action");
+            if (index >= fence) {
+                return false;
+            }
+            action.accept(startEpochNano + index++ * stepNanos);
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(LongConsumer action) {
+            Objects.requireNonNull(action, "action");
+            long epochNano = startEpochNano + index * stepNanos;
+            for (long remaining = fence - index; remaining > 0; remaining--) {
+                action.accept(epochNano);
+                epochNano += stepNanos;
+            }
+            index = fence;
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SORTED | DISTINCT | SIZED | SUBSIZED | NONNULL | IMMUTABLE;
+        }
+
+        @Override
+        public Comparator<? super Long> getComparator() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.statemachinesystems.mockclock;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Seeded pseudo-random jitter applied to the reads of a {@link Timeline}.
+ * <p>
+ * Jitter values come from the SplitMix64 generator in counter mode: the n-th read mixes the seed with n, so the value
+ * it receives depends only on the seed and its position, and generating one takes a few arithmetic operations on
+ * primitives without allocating.
+ */
+final class Jitter {
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final long bound;
+    private final long seed;
+    private final boolean monotonic;
+    private final AtomicLong reads = new AtomicLong();
+    private final AtomicLong lastRead = new AtomicLong(Long.MIN_VALUE);
+
+    Jitter(long bound, long seed, JitterMode mode) {
+        this.bound = bound;
+        this.seed = seed;
+        this.monotonic = mode == JitterMode.MONOTONIC;
+    }
+
+    /**
+     * Apply the next jitter value to the given time.
+     *
+     * @param epochNano  the time to which to apply jitter
+     * @return the jittered time
+     */
+    long apply(long epochNano) {
+        long random = mix(seed + (reads.getAndIncrement() + 1) * GOLDEN_GAMMA) >>> 1;
+        if (!monotonic) {
+            return epochNano - bound + random % (2 * bound + 1);
+        }
+        long jittered = epochNano + random % (bound + 1);
+        long latest = epochNano + bound;
+        long previous;
+        long result;
+        do {
+            previous = lastRead.get();
+            result = Math.max(jittered, Math.min(previous, latest));
+        } while (!lastRead.compareAndSet(previous, result));
+        return result;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,20 @@
+package com.statemachinesystems.mockclock;
+
+/**
+ * How jitter applied to the reads of a {@link MockClock} may affect their order.
+ *
+ * @see MockClock#jitterOnRead(java.time.Duration, long, JitterMode)
+ */
+public enum JitterMode {
+
+    /**
+     * Each read is at or after the clock's time, by up to the jitter bound, and never earlier than the previous read
+     * unless the clock itself has been moved backwards.
+     */
+    MONOTONIC,
+
+    /**
+     * Each read is within the jitter bound either side of the clock's time, so successive reads may step backwards.
+     */
+    BIDIRECTIONAL
+}
@@ -0,0 +1,32 @@
+package com.statemachinesystems.mockclock;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Striped counters recording how a {@link Timeline} is used, so that concurrent readers update separate cells rather
+ * than contending on a single counter.
+ */
+final class MetricsRecorder {
+
+    private final LongAdder reads = new LongAdder();
+    private final LongAdder sets = new LongAdder();
+    private final LongAdder advances = new LongAdder();
+    private final LongAdder nanosAdvanced = new LongAdder();
+
+    void recordRead() {
+        reads.increment();
+    }
+
+    void recordSet() {
+        sets.increment();
+    }
+
+    void recordAdvance(long nanos) {
+        advances.increment();
+        nanosAdvanced.add(nanos);
+    }
+
+    MockClockMetrics snapshot() {
+        return new MockClockMetrics(reads.sum(), sets.sum(), advances.sum(), nanosAdvanced.sum());
+    }
+}
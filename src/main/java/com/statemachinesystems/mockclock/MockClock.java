@@ -8,12 +8,36 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.Month;
 import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
+import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
 
 /**
  * Mutable implementation of {@link java.time.Clock} for testing.
+ * <p>
+ * The clock's state is held as a count of nanoseconds since the epoch, so it can represent instants between
+ * 1677-09-21T00:12:43.145224192Z and 2262-04-11T23:47:16.854775807Z. Attempting to move the clock outside that range
+ * throws an {@link ArithmeticException}.
+ * <p>
+ * A {@link MockClock} may be shared between threads. Changes made by one thread are published to all others, so
+ * code under test running on worker threads always observes the latest time set by the test thread. Adjustments that
+ * depend on the current time, such as {@link #advanceBy(Duration)} or {@link #setHour(int)}, are applied atomically,
+ * so concurrent adjustments are never lost.
+ * <p>
+ * Clocks obtained through {@link #withZone(ZoneId)} are views onto the same timeline rather than copies, so a single
+ * advance moves every view at once.
+ * <p>
+ * For code that expects time to pass between reads, such as rate limiters and id generators, the clock can be made to
+ * tick on read with {@link #tickOnRead(Duration)}, so that each call to {@link #instant()} or {@link #millis()} moves
+ * it forward. For soak tests, time can instead be made to pass on its own at a multiple of real time with
+ * {@link #accelerated(Instant, ZoneId, double)} or {@link #setScale(double)}.
+ * <p>
+ * Each clock is paired with a {@link MockTicker}, a monotonic nanosecond source that stands in for
+ * {@link System#nanoTime()} and moves forward whenever the clock is advanced.
  */
 public class MockClock extends Clock {
 
@@ -35,7 +59,7 @@ public class MockClock extends Clock {
      */
     public static MockClock at(Clock clock) {
         Objects.requireNonNull(clock, "clock");
-        return new MockClock(clock.instant(), clock.getZone());
+        return new Timeline(toEpochNano(clock.instant())).view(clock.getZone());
     }
 
     /**
@@ -48,7 +72,21 @@ public class MockClock extends Clock {
     public static MockClock at(Instant instant, ZoneId zone) {
         Objects.requireNonNull(instant, "instant");
         Objects.requireNonNull(zone, "zone");
-        return new MockClock(instant, zone);
+        return new Timeline(toEpochNano(instant)).view(zone);
+    }
+
+    /**
+     * Construct a {@link MockClock} starting at the given {@link Instant} and zone, whose time passes at the given
+     * multiple of real time.
+     *
+     * @param instant  the {@link Instant} to start from
+     * @param zone  the zone to use
+     * @param scale  the number of nanoseconds that pass on the clock for each real nanosecond
+     * @return a {@link MockClock} instance initially set to the given {@link Instant} and zone
+     * @see #setScale(double)
+     */
+    public static MockClock accelerated(Instant instant, ZoneId zone, double scale) {
+        return at(instant, zone).setScale(scale);
     }
 
     /**
@@ -245,11 +283,21 @@ public class MockClock extends Clock {
         return at(LocalDate.of(year, month, dayOfMonth), zone);
     }
 
-    private Instant instant;
+    static final long NANOS_PER_SECOND = 1_000_000_000L;
+    static final long NANOS_PER_MILLI = 1_000_000L;
+
+    private static final int SECONDS_PER_DAY = 86_400;
+    private static final int SECONDS_PER_HOUR = 3_600;
+    private static final int SECONDS_PER_MINUTE = 60;
+    private static final long NO_CIVIL_DATE = Long.MIN_VALUE;
+
+    private final Timeline timeline;
     private final ZoneId zone;
+    private volatile OffsetPeriod offsetPeriod;
+    private volatile long civilDate = NO_CIVIL_DATE;
 
-    private MockClock(Instant instant, ZoneId zone) {
-        this.instant = instant;
+    MockClock(Timeline timeline, ZoneId zone) {
+        this.timeline = timeline;
         this.zone = zone;
     }
 
@@ -261,7 +309,7 @@ public class MockClock extends Clock {
      */
     public MockClock set(Instant instant) {
         Objects.requireNonNull(instant, "instant");
-        this.instant = instant;
+        timeline.set(toEpochNano(instant));
         return this;
     }
 
@@ -273,7 +321,7 @@ public class MockClock extends Clock {
      */
     public MockClock set(LocalDateTime localDateTime) {
         Objects.requireNonNull(localDateTime, "localDateTime");
-        this.instant = localDateTime.atZone(zone).toInstant();
+        timeline.set(toEpochNano(localDateTime, null));
         return this;
     }
 
@@ -287,8 +335,7 @@ public class MockClock extends Clock {
     public MockClock set(LocalDate localDate, LocalTime localTime) {
         Objects.requireNonNull(localDate, "localDate");
         Objects.requireNonNull(localTime, "localTime");
-        this.instant = ZonedDateTime.of(localDate, localTime, zone).toInstant();
-        return this;
+        return set(LocalDateTime.of(localDate, localTime));
     }
 
     /**
@@ -299,9 +346,7 @@ public class MockClock extends Clock {
      */
     public MockClock set(LocalDate localDate) {
         Objects.requireNonNull(localDate, "localDate");
-        LocalTime localTime = toZonedDateTime().toLocalTime();
-        this.instant = ZonedDateTime.of(localDate, localTime, zone).toInstant();
-        return this;
+        return adjust(localDateTime -> LocalDateTime.of(localDate, localDateTime.toLocalTime()), false);
     }
 
     /**
@@ -312,9 +357,7 @@ public class MockClock extends Clock {
      */
     public MockClock set(LocalTime localTime) {
         Objects.requireNonNull(localTime, "localTime");
-        LocalDate localDate = toZonedDateTime().toLocalDate();
-        this.instant = ZonedDateTime.of(localDate, localTime, zone).toInstant();
-        return this;
+        return adjust(localDateTime -> LocalDateTime.of(localDateTime.toLocalDate(), localTime), false);
     }
 
     /**
@@ -331,10 +374,7 @@ public class MockClock extends Clock {
      */
     public MockClock set(int year, Month month, int dayOfMonth, int hour, int minute, int second, int nanoOfSecond) {
         Objects.requireNonNull(month, "month");
-        ZonedDateTime zonedDateTime = ZonedDateTime
-                .of(year, month.getValue(), dayOfMonth, hour, minute, second, nanoOfSecond, zone);
-        this.instant = zonedDateTime.toInstant();
-        return this;
+        return set(LocalDateTime.of(year, month, dayOfMonth, hour, minute, second, nanoOfSecond));
     }
 
     /**
@@ -350,8 +390,9 @@ public class MockClock extends Clock {
      * @return this {@link MockClock} instance
      */
     public MockClock set(int year, Month month, int dayOfMonth, int hour, int minute, int second) {
-        int nanoOfSecond = toZonedDateTime().getNano();
-        return set(year, month, dayOfMonth, hour, minute, second, nanoOfSecond);
+        Objects.requireNonNull(month, "month");
+        return adjust(localDateTime -> LocalDateTime.of(year, month, dayOfMonth, hour, minute, second,
+                localDateTime.getNano()), false);
     }
 
     /**
@@ -366,10 +407,9 @@ public class MockClock extends Clock {
      * @return this {@link MockClock} instance
      */
     public MockClock set(int year, Month month, int dayOfMonth, int hour, int minute) {
-        ZonedDateTime zonedDateTime = toZonedDateTime();
-        int second = zonedDateTime.getSecond();
-        int nanoOfSecond = zonedDateTime.getNano();
-        return set(year, month, dayOfMonth, hour, minute, second, nanoOfSecond);
+        Objects.requireNonNull(month, "month");
+        return adjust(localDateTime -> LocalDateTime.of(year, month, dayOfMonth, hour, minute,
+                localDateTime.getSecond(), localDateTime.getNano()), false);
     }
 
     /**
@@ -381,12 +421,9 @@ public class MockClock extends Clock {
      * @return this {@link MockClock} instance
      */
     public MockClock set(int year, Month month, int dayOfMonth) {
-        ZonedDateTime zonedDateTime = toZonedDateTime();
-        int hour = zonedDateTime.getHour();
-        int minute = zonedDateTime.getMinute();
-        int second = zonedDateTime.getSecond();
-        int nanoOfSecond = zonedDateTime.getNano();
-        return set(year, month, dayOfMonth, hour, minute, second, nanoOfSecond);
+        Objects.requireNonNull(month, "month");
+        return adjust(localDateTime -> LocalDateTime.of(LocalDate.of(year, month, dayOfMonth),
+                localDateTime.toLocalTime()), false);
     }
 
     /**
@@ -455,8 +492,7 @@ public class MockClock extends Clock {
      * @return this {@link MockClock} instance
      */
     public MockClock setYear(int year) {
-        this.instant = toZonedDateTime().withYear(year).toInstant();
-        return this;
+        return adjust(localDateTime -> localDateTime.withYear(year), true);
     }
 
     /**
@@ -476,8 +512,7 @@ public class MockClock extends Clock {
      * @return this {@link MockClock} instance
      */
     public MockClock setMonth(int month) {
-        this.instant = toZonedDateTime().withMonth(month).toInstant();
-        return this;
+        return adjust(localDateTime -> localDateTime.withMonth(month), true);
     }
 
     /**
@@ -487,8 +522,7 @@ public class MockClock extends Clock {
      * @return this {@link MockClock} instance
      */
     public MockClock setDayOfMonth(int dayOfMonth) {
-        this.instant = toZonedDateTime().withDayOfMonth(dayOfMonth).toInstant();
-        return this;
+        return adjust(localDateTime -> localDateTime.withDayOfMonth(dayOfMonth), true);
     }
 
     /**
@@ -498,8 +532,7 @@ public class MockClock extends Clock {
      * @return this {@link MockClock} instance
      */
     public MockClock setHour(int hour) {
-        this.instant = toZonedDateTime().withHour(hour).toInstant();
-        return this;
+        return adjust(localDateTime -> localDateTime.withHour(hour), true);
     }
 
     /**
@@ -509,8 +542,7 @@ public class MockClock extends Clock {
      * @return this {@link MockClock} instance
      */
     public MockClock setMinute(int minute) {
-        this.instant = toZonedDateTime().withMinute(minute).toInstant();
-        return this;
+        return adjust(localDateTime -> localDateTime.withMinute(minute), true);
     }
 
     /**
@@ -520,8 +552,7 @@ public class MockClock extends Clock {
      * @return this {@link MockClock} instance
      */
     public MockClock setSecond(int second) {
-        this.instant = toZonedDateTime().withSecond(second).toInstant();
-        return this;
+        return adjust(localDateTime -> localDateTime.withSecond(second), true);
     }
 
     /**
@@ -542,8 +573,7 @@ public class MockClock extends Clock {
      * @return this {@link MockClock} instance
      */
     public MockClock setNano(int nanoOfSecond) {
-        this.instant = toZonedDateTime().withNano(nanoOfSecond).toInstant();
-        return this;
+        return adjust(localDateTime -> localDateTime.withNano(nanoOfSecond), true);
     }
 
     /**
@@ -553,7 +583,21 @@ public class MockClock extends Clock {
      * @return this {@link MockClock} instance
      */
     public MockClock advanceBy(Duration duration) {
-        this.instant = toZonedDateTime().plus(duration).toInstant();
+        Objects.requireNonNull(duration, "duration");
+        timeline.advance(duration.toNanos());
+        return this;
+    }
+
+    /**
+     * Advance the clock by the given amount of the given {@link TimeUnit}.
+     *
+     * @param amount  the amount by which to advance
+     * @param unit  the unit of the amount
+     * @return this {@link MockClock} instance
+     */
+    public MockClock advanceBy(long amount, TimeUnit unit) {
+        Objects.requireNonNull(unit, "unit");
+        timeline.advance(Math.multiplyExact(amount, unit.toNanos(1)));
         return this;
     }
 
@@ -563,8 +607,19 @@ public class MockClock extends Clock {
      * @param days  the number of days by which to advance
      * @return this {@link MockClock} instance
      */
+    public MockClock advanceByDays(long days) {
+        return advanceBy(days, TimeUnit.DAYS);
+    }
+
+    /**
+     * Advance the clock by the given number of days. Equivalent to {@link #advanceByDays(long)}, and retained
+     * so that code compiled against earlier versions continues to link.
+     *
+     * @param days  the number of days by which to advance
+     * @return this {@link MockClock} instance
+     */
     public MockClock advanceByDays(int days) {
-        return advanceBy(Duration.ofDays(days));
+        return advanceByDays((long) days);
     }
 
     /**
@@ -573,8 +628,19 @@ public class MockClock extends Clock {
      * @param hours  the number of hours by which to advance
      * @return this {@link MockClock} instance
      */
+    public MockClock advanceByHours(long hours) {
+        return advanceBy(hours, TimeUnit.HOURS);
+    }
+
+    /**
+     * Advance the clock by the given number of hours. Equivalent to {@link #advanceByHours(long)}, and retained
+     * so that code compiled against earlier versions continues to link.
+     *
+     * @param hours  the number of hours by which to advance
+     * @return this {@link MockClock} instance
+     */
     public MockClock advanceByHours(int hours) {
-        return advanceBy(Duration.ofHours(hours));
+        return advanceByHours((long) hours);
     }
 
     /**
@@ -583,8 +649,19 @@ public class MockClock extends Clock {
      * @param minutes  the number of minutes by which to advance
      * @return this {@link MockClock} instance
      */
+    public MockClock advanceByMinutes(long minutes) {
+        return advanceBy(minutes, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Advance the clock by the given number of minutes. Equivalent to {@link #advanceByMinutes(long)}, and retained
+     * so that code compiled against earlier versions continues to link.
+     *
+     * @param minutes  the number of minutes by which to advance
+     * @return this {@link MockClock} instance
+     */
     public MockClock advanceByMinutes(int minutes) {
-        return advanceBy(Duration.ofMinutes(minutes));
+        return advanceByMinutes((long) minutes);
     }
 
     /**
@@ -593,8 +670,19 @@ public class MockClock extends Clock {
      * @param seconds  the number of seconds by which to advance
      * @return this {@link MockClock} instance
      */
+    public MockClock advanceBySeconds(long seconds) {
+        return advanceBy(seconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Advance the clock by the given number of seconds. Equivalent to {@link #advanceBySeconds(long)}, and retained
+     * so that code compiled against earlier versions continues to link.
+     *
+     * @param seconds  the number of seconds by which to advance
+     * @return this {@link MockClock} instance
+     */
     public MockClock advanceBySeconds(int seconds) {
-        return advanceBy(Duration.ofSeconds(seconds));
+        return advanceBySeconds((long) seconds);
     }
 
     /**
@@ -603,8 +691,19 @@ public class MockClock extends Clock {
      * @param millis  the number of milliseconds by which to advance
      * @return this {@link MockClock} instance
      */
+    public MockClock advanceByMillis(long millis) {
+        return advanceBy(millis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Advance the clock by the given number of millis. Equivalent to {@link #advanceByMillis(long)}, and retained
+     * so that code compiled against earlier versions continues to link.
+     *
+     * @param millis  the number of millis by which to advance
+     * @return this {@link MockClock} instance
+     */
     public MockClock advanceByMillis(int millis) {
-        return advanceBy(Duration.ofMillis(millis));
+        return advanceByMillis((long) millis);
     }
 
     /**
@@ -613,8 +712,215 @@ public class MockClock extends Clock {
      * @param nanos  the number of nanoseconds by which to advance
      * @return this {@link MockClock} instance
      */
+    public MockClock advanceByNanos(long nanos) {
+        timeline.advance(nanos);
+        return this;
+    }
+
+    /**
+     * Advance the clock by the given number of nanos. Equivalent to {@link #advanceByNanos(long)}, and retained
+     * so that code compiled against earlier versions continues to link.
+     *
+     * @param nanos  the number of nanos by which to advance
+     * @return this {@link MockClock} instance
+     */
     public MockClock advanceByNanos(int nanos) {
-        return advanceBy(Duration.ofNanos(nanos));
+        return advanceByNanos((long) nanos);
+    }
+
+    /**
+     * Step the clock's wall time by the given {@link Duration}, as an NTP correction would, without moving its
+     * {@link MockTicker}.
+     *
+     * @param duration  the duration by which to step, which may be negative
+     * @return this {@link MockClock} instance
+     */
+    public MockClock stepBy(Duration duration) {
+        Objects.requireNonNull(duration, "duration");
+        timeline.step(duration.toNanos());
+        return this;
+    }
+
+    /**
+     * Step the clock's wall time by the given number of nanoseconds, as an NTP correction would, without moving its
+     * {@link MockTicker}.
+     *
+     * @param nanos  the number of nanoseconds by which to step, which may be negative
+     * @return this {@link MockClock} instance
+     */
+    public MockClock stepByNanos(long nanos) {
+        timeline.step(nanos);
+        return this;
+    }
+
+    /**
+     * Make every subsequent call to {@link #instant()} or {@link #millis()} move the clock forward by the given step
+     * after reading it, replacing any previous tick configuration. Ticks apply to every view of the clock's timeline.
+     * <p>
+     * Concurrent readers each observe a distinct time: the n-th read after this call always observes the time at the
+     * call plus n steps, together with any explicit moves made in the meantime. Ticks are not reported to
+     * {@link TimeChangeListener}s and do not run timers; those only respond to explicit moves.
+     *
+     * @param step  the step by which each read moves the clock
+     * @return this {@link MockClock} instance
+     */
+    public MockClock tickOnRead(Duration step) {
+        Objects.requireNonNull(step, "step");
+        return tickOnRead(Collections.singletonList(step));
+    }
+
+    /**
+     * Make every subsequent call to {@link #instant()} or {@link #millis()} move the clock forward by the next step of
+     * the given sequence after reading it, starting again from the first step once the sequence is exhausted. As with
+     * {@link #tickOnRead(Duration)}, the time observed by the n-th read is fixed regardless of how concurrent reads
+     * interleave.
+     *
+     * @param steps  the steps by which successive reads move the clock
+     * @return this {@link MockClock} instance
+     */
+    public MockClock tickOnRead(List<Duration> steps) {
+        Objects.requireNonNull(steps, "steps");
+        if (steps.isEmpty()) {
+            throw new IllegalArgumentException("steps must not be empty");
+        }
+        long[] stepNanos = new long[steps.size()];
+        for (int i = 0; i < stepNanos.length; i++) {
+            Duration step = Objects.requireNonNull(steps.get(i), "step");
+            if (step.isNegative()) {
+                throw new IllegalArgumentException("steps must not be negative");
+            }
+            stepNanos[i] = step.toNanos();
+        }
+        timeline.tickOnRead(stepNanos);
+        return this;
+    }
+
+    /**
+     * Stop moving the clock on read. The clock retains any ticks that have already occurred.
+     *
+     * @return this {@link MockClock} instance
+     */
+    public MockClock stopTickOnRead() {
+        timeline.tickOnRead(null);
+        return this;
+    }
+
+    /**
+     * Make every subsequent call to {@link #instant()} or {@link #millis()} return the clock's time with bounded
+     * pseudo-random jitter applied, replacing any previous jitter configuration. Jitter applies to every view of the
+     * clock's timeline, and does not move the clock itself: other reads, listeners and timers see the exact time.
+     * <p>
+     * Jitter is reproducible: the n-th read after this call always receives the same jitter value for a given seed.
+     * Values come from a primitive generator, so reads remain allocation-free. In {@link JitterMode#MONOTONIC} mode,
+     * concurrent reads are additionally kept in order, so the values they observe depend on how they interleave.
+     *
+     * @param bound  the maximum jitter applied to a read
+     * @param seed  the seed of the pseudo-random sequence
+     * @param mode  whether reads may step backwards
+     * @return this {@link MockClock} instance
+     */
+    public MockClock jitterOnRead(Duration bound, long seed, JitterMode mode) {
+        Objects.requireNonNull(bound, "bound");
+        Objects.requireNonNull(mode, "mode");
+        if (bound.isNegative() || bound.compareTo(Duration.ofNanos(Long.MAX_VALUE / 4)) > 0) {
+            throw new IllegalArgumentException("bound must be non-negative and less than 2^61 nanoseconds");
+        }
+        timeline.jitter(new Jitter(bound.toNanos(), seed, mode));
+        return this;
+    }
+
+    /**
+     * Stop applying jitter to reads.
+     *
+     * @return this {@link MockClock} instance
+     */
+    public MockClock stopJitterOnRead() {
+        timeline.jitter(null);
+        return this;
+    }
+
+    /**
+     * Make time pass on the clock at the given multiple of real time, as measured by {@link System#nanoTime()},
+     * continuing from the clock's current time. Setting a scale of zero stops time passing, which is the default.
+     * <p>
+     * The scale may be changed at any time without the clock jumping, and explicit moves such as
+     * {@link #advanceBy(Duration)} apply on top of the time that has passed. Reads remain allocation-free, and as long
+     * as the clock is not explicitly moved backwards, they never go backwards. Passing time is not reported to
+     * {@link TimeChangeListener}s and does not run timers; those only respond to explicit moves. The scale applies to
+     * every view of the clock's timeline.
+     *
+     * @param scale  the number of nanoseconds that pass on the clock for each real nanosecond
+     * @return this {@link MockClock} instance
+     */
+    public MockClock setScale(double scale) {
+        if (!(scale >= 0) || Double.isInfinite(scale)) {
+            throw new IllegalArgumentException("scale must be finite and non-negative");
+        }
+        timeline.setScale(scale);
+        return this;
+    }
+
+    /**
+     * Retrieve the multiple of real time at which time passes on the clock.
+     *
+     * @return the scale factor, or zero if time only moves when the clock is explicitly moved
+     */
+    public double getScale() {
+        return timeline.scale();
+    }
+
+    /**
+     * Start counting reads, sets and advances of the clock, discarding any counts already recorded. Counts cover every
+     * view of the clock's timeline, and are kept in striped counters so that concurrent readers do not contend.
+     * While metrics are disabled, which is the default, the clock does no counting at all.
+     *
+     * @return this {@link MockClock} instance
+     */
+    public MockClock enableMetrics() {
+        timeline.recordMetrics(new MetricsRecorder());
+        return this;
+    }
+
+    /**
+     * Stop counting reads, sets and advances of the clock, discarding any counts already recorded.
+     *
+     * @return this {@link MockClock} instance
+     */
+    public MockClock disableMetrics() {
+        timeline.recordMetrics(null);
+        return this;
+    }
+
+    /**
+     * Retrieve a snapshot of the counts recorded since metrics were enabled.
+     *
+     * @return the recorded counts, all zero if metrics are disabled
+     */
+    public MockClockMetrics metrics() {
+        return timeline.metrics();
+    }
+
+    /**
+     * Start recording the time observed by each call to {@link #instant()} or {@link #millis()}, on any view of the
+     * clock's timeline, into the given trace, replacing any trace already in use.
+     *
+     * @param trace  the trace to record into
+     * @return this {@link MockClock} instance
+     */
+    public MockClock startTracing(ReadTrace trace) {
+        Objects.requireNonNull(trace, "trace");
+        timeline.trace(trace);
+        return this;
+    }
+
+    /**
+     * Stop recording reads. Records already in the trace are retained.
+     *
+     * @return this {@link MockClock} instance
+     */
+    public MockClock stopTracing() {
+        timeline.trace(null);
+        return this;
     }
 
     /**
@@ -623,7 +929,121 @@ public class MockClock extends Clock {
      * @return a {@link ZonedDateTime} representing the clock's current state
      */
     public ZonedDateTime toZonedDateTime() {
-        return ZonedDateTime.ofInstant(instant, zone);
+        return toZonedDateTime(timeline.epochNano());
+    }
+
+    /**
+     * Retrieve the year of the clock's current local date, without allocating. Like the other calendar field
+     * accessors, this never ticks the clock.
+     *
+     * @return the year
+     */
+    public int getYear() {
+        return (int) civilDate(localEpochSecond(timeline.epochNano())) >>> 9;
+    }
+
+    /**
+     * Retrieve the month of the clock's current local date, without allocating.
+     *
+     * @return the month of the year, from 1 to 12
+     */
+    public int getMonthValue() {
+        return (int) (civilDate(localEpochSecond(timeline.epochNano())) >>> 5) & 0xF;
+    }
+
+    /**
+     * Retrieve the day of the month of the clock's current local date, without allocating.
+     *
+     * @return the day of the month, from 1 to 31
+     */
+    public int getDayOfMonth() {
+        return (int) civilDate(localEpochSecond(timeline.epochNano())) & 0x1F;
+    }
+
+    /**
+     * Retrieve the hour of the clock's current local time, without allocating.
+     *
+     * @return the hour of the day, from 0 to 23
+     */
+    public int getHour() {
+        return (int) Math.floorMod(localEpochSecond(timeline.epochNano()), SECONDS_PER_DAY) / SECONDS_PER_HOUR;
+    }
+
+    /**
+     * Retrieve the minute of the clock's current local time, without allocating.
+     *
+     * @return the minute of the hour, from 0 to 59
+     */
+    public int getMinute() {
+        return (int) Math.floorMod(localEpochSecond(timeline.epochNano()), SECONDS_PER_HOUR) / SECONDS_PER_MINUTE;
+    }
+
+    /**
+     * Retrieve the second of the clock's current local time, without allocating.
+     *
+     * @return the second of the minute, from 0 to 59
+     */
+    public int getSecond() {
+        return (int) Math.floorMod(localEpochSecond(timeline.epochNano()), SECONDS_PER_MINUTE);
+    }
+
+    /**
+     * Retrieve the nanosecond of the clock's current time, without allocating.
+     *
+     * @return the nanosecond of the second, from 0 to 999,999,999
+     */
+    public int getNano() {
+        return (int) Math.floorMod(timeline.epochNano(), NANOS_PER_SECOND);
+    }
+
+    /**
+     * Retrieve the clock's current time as the number of milliseconds since the epoch. Unlike {@link #millis()}, this
+     * never ticks the clock.
+     *
+     * @return the number of milliseconds since 1970-01-01T00:00:00Z, rounded towards negative infinity
+     */
+    public long getEpochMilli() {
+        return Math.floorDiv(timeline.epochNano(), NANOS_PER_MILLI);
+    }
+
+    /**
+     * Retrieve the clock's current time as the number of nanoseconds since the epoch. Equivalent to
+     * {@link #epochNano()}, and named to match the other calendar field accessors; unlike {@link #instant()}, this
+     * never ticks the clock.
+     *
+     * @return the number of nanoseconds since 1970-01-01T00:00:00Z
+     */
+    public long getEpochNano() {
+        return timeline.epochNano();
+    }
+
+    /**
+     * Retrieve the clock's current time as the number of whole seconds since the epoch, without allocating an
+     * {@link Instant}. Unlike {@link #instant()}, this never ticks the clock.
+     *
+     * @return the number of seconds since 1970-01-01T00:00:00Z, rounded towards negative infinity
+     */
+    public long epochSecond() {
+        return Math.floorDiv(timeline.epochNano(), NANOS_PER_SECOND);
+    }
+
+    /**
+     * Retrieve the clock's current time as the number of nanoseconds since the epoch, without allocating an
+     * {@link Instant}. Unlike {@link #instant()}, this never ticks the clock.
+     *
+     * @return the number of nanoseconds since 1970-01-01T00:00:00Z
+     */
+    public long epochNano() {
+        return timeline.epochNano();
+    }
+
+    /**
+     * Retrieve the monotonic ticker paired with this clock.
+     *
+     * @return the {@link MockTicker} shared by every view of this clock's timeline
+     */
+    public MockTicker ticker() {
+        return timeline.ticker();
     }
 
     @Override
@@ -631,20 +1051,77 @@ public class MockClock extends Clock {
         return zone;
     }
 
+    /**
+     * Capture the clock's wall and monotonic time together, in constant time, even while other threads move it.
+     *
+     * @return a snapshot that can be passed to {@link #restore(Snapshot)}
+     */
+    public Snapshot snapshot() {
+        return timeline.snapshot();
+    }
+
+    /**
+     * Return the clock's wall time and its {@link MockTicker} to a previously captured state. Unlike
+     * {@link #set(Instant)}, restoring never runs timers, even if it moves the clock forward. Listeners are notified of
+     * the change.
+     * <p>
+     * Only a {@link Simulation} captures its pending events together with the clock, through
+     * {@link Simulation#snapshot()} and {@link Simulation#restore(Simulation.Snapshot)}. A
+     * {@link MockScheduledExecutorService} or {@link TimerWheel} cannot be restored, so restoring the clock while
+     * either has pending tasks would leave them with meaningless deadlines, and is refused.
+     * <p>
+     * Restoring an earlier snapshot moves the ticker backwards. This is the only operation that does so, and breaks
+     * the ticker's usual monotonic guarantee for code measuring elapsed time across the restore.
+     *
+     * @param snapshot  the state to restore, which may have been taken from any clock
+     * @return this {@link MockClock} instance
+     * @throws IllegalStateException if an attached {@link MockScheduledExecutorService} or {@link TimerWheel} has
+     *         pending tasks
+     */
+    public MockClock restore(Snapshot snapshot) {
+        Objects.requireNonNull(snapshot, "snapshot");
+        timeline.restore(snapshot.epochNano, snapshot.monotonicNano);
+        return this;
+    }
+
+    /**
+     * Create an independent clock in the same zone, showing the same wall and monotonic time as this one. Moving
+     * either clock afterwards does not affect the other. The fork starts without listeners, timers or read modes such
+     * as ticking, acceleration, jitter, metrics or tracing.
+     *
+     * @return a new {@link MockClock} with its own timeline
+     */
+    public MockClock fork() {
+        Snapshot snapshot = timeline.snapshot();
+        return new Timeline(snapshot.epochNano, snapshot.monotonicNano).view(zone);
+    }
+
+    /**
+     * Retrieve a view of this clock in the given zone. The view shares this clock's timeline, so setting or advancing
+     * either clock moves both. Views are cached, so repeated calls with the same zone return the same instance.
+     *
+     * @param zone  the zone to use
+     * @return a {@link MockClock} sharing this clock's timeline in the given zone
+     */
     @Override
     public MockClock withZone(ZoneId zone) {
         Objects.requireNonNull(zone, "zone");
-        return new MockClock(instant, zone);
+        return timeline.view(zone);
     }
 
     @Override
     public Instant instant() {
-        return instant;
+        return toInstant(timeline.read());
+    }
+
+    @Override
+    public long millis() {
+        return Math.floorDiv(timeline.read(), NANOS_PER_MILLI);
     }
 
     @Override
     public String toString() {
-        return "MockClock[" + instant + "," + zone + "]";
+        return "MockClock[" + toInstant(epochNano()) + "," + zone + "]";
     }
 
     @Override
@@ -657,11 +1134,203 @@ public class MockClock extends Clock {
         }
 
         MockClock mockClock = (MockClock) o;
-        return Objects.equals(instant, mockClock.instant) && Objects.equals(zone, mockClock.zone);
+        return epochNano() == mockClock.epochNano() && Objects.equals(zone, mockClock.zone);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(instant, zone);
+        return 31 * Long.hashCode(epochNano()) + zone.hashCode();
+    }
+
+    /**
+     * Register a listener to be notified whenever this clock's time is set or advanced, through this clock or any of
+     * its zone views. Listeners run on the thread that changed the time, after the change has been made. Changes that
+     * leave the time unchanged are not reported.
+     *
+     * @param listener  the listener to register
+     * @return this {@link MockClock} instance
+     */
+    public MockClock addListener(TimeChangeListener listener) {
+        Objects.requireNonNull(listener, "listener");
+        timeline.addListener(listener);
+        return this;
+    }
+
+    /**
+     * Unregister a previously registered listener.
+     *
+     * @param listener  the listener to unregister
+     * @return this {@link MockClock} instance
+     */
+    public MockClock removeListener(TimeChangeListener listener) {
+        Objects.requireNonNull(listener, "listener");
+        timeline.removeListener(listener);
+        return this;
+    }
+
+    /**
+     * Attach a {@link TimerQueue}, so that its timers expire as this clock's timeline moves forward.
+     *
+     * @param timerQueue  the queue to attach
+     */
+    void attach(TimerQueue timerQueue) {
+        timeline.attach(timerQueue);
+    }
+
+    /**
+     * Set the clock to the given number of nanoseconds since the epoch, without allocating an {@link Instant}.
+     *
+     * @param epochNano  the time to use
+     */
+    void setEpochNano(long epochNano) {
+        timeline.set(epochNano);
+    }
+
+    /**
+     * Detach a previously attached {@link TimerQueue}.
+     *
+     * @param timerQueue  the queue to detach
+     */
+    void detach(TimerQueue timerQueue) {
+        timeline.detach(timerQueue);
+    }
+
+    /**
+     * An immutable capture of the wall and monotonic time of a {@link MockClock}. Restoring a snapshot rewinds both,
+     * including the {@link MockTicker}.
+     */
+    public static final class Snapshot {
+
+        private final long epochNano;
+        private final long monotonicNano;
+
+        Snapshot(long epochNano, long monotonicNano) {
+            this.epochNano = epochNano;
+            this.monotonicNano = monotonicNano;
+        }
+
+        /**
+         * Retrieve the captured wall time.
+         *
+         * @return the captured {@link Instant}
+         */
+        public Instant instant() {
+            return toInstant(epochNano);
+        }
+
+        /**
+         * Retrieve the captured wall time as the number of nanoseconds since the epoch.
+         *
+         * @return the number of nanoseconds since 1970-01-01T00:00:00Z
+         */
+        public long epochNano() {
+            return epochNano;
+        }
+
+        /**
+         * Retrieve the captured reading of the clock's {@link MockTicker}.
+         *
+         * @return the captured monotonic time in nanoseconds
+         */
+        public long monotonicNano() {
+            return monotonicNano;
+        }
+
+        @Override
+        public String toString() {
+            return "MockClock.Snapshot[" + instant() + "," + monotonicNano + "]";
+        }
+    }
+
+    /**
+     * Apply the given adjustment to the clock's local date and time, resolving the result in the clock's zone. If the
+     * result falls in an overlap, the current offset is kept when requested and valid, otherwise the earlier offset is
+     * used; if it falls in a gap, it is moved forward by the length of the gap.
+     */
+    private MockClock adjust(UnaryOperator<LocalDateTime> adjuster, boolean retainOffset) {
+        timeline.update(epochNano -> {
+            long epochSecond = Math.floorDiv(epochNano, NANOS_PER_SECOND);
+            ZoneOffset offset = offsetPeriod(epochSecond).offset();
+            LocalDateTime localDateTime = LocalDateTime.ofEpochSecond(epochSecond,
+                    (int) Math.floorMod(epochNano, NANOS_PER_SECOND), offset);
+            return toEpochNano(adjuster.apply(localDateTime), retainOffset ? offset : null);
+        });
+        return this;
+    }
+
+    /**
+     * Convert a local date and time in the clock's zone to nanoseconds since the epoch. While the local time falls
+     * unambiguously within the cached offset period, this is pure arithmetic; otherwise the zone's rules are consulted
+     * and the period containing the result is cached for next time.
+     */
+    private long toEpochNano(LocalDateTime localDateTime, ZoneOffset preferredOffset) {
+        long localEpochSecond = localDateTime.toEpochSecond(ZoneOffset.UTC);
+        OffsetPeriod period = offsetPeriod;
+        long epochSecond;
+        if (period != null && period.containsLocal(localEpochSecond)) {
+            epochSecond = localEpochSecond - period.offset().getTotalSeconds();
+        } else {
+            epochSecond = ZonedDateTime.ofLocal(localDateTime, zone, preferredOffset).toEpochSecond();
+            offsetPeriod = OffsetPeriod.of(zone.getRules(), epochSecond);
+        }
+        return Math.addExact(Math.multiplyExact(epochSecond, NANOS_PER_SECOND), localDateTime.getNano());
+    }
+
+    private OffsetPeriod offsetPeriod(long epochSecond) {
+        OffsetPeriod period = offsetPeriod;
+        if (period == null || !period.contains(epochSecond)) {
+            period = OffsetPeriod.of(zone.getRules(), epochSecond);
+            offsetPeriod = period;
+        }
+        return period;
+    }
+
+    /**
+     * Convert nanoseconds since the epoch to seconds since the epoch in the clock's zone, as if local time were UTC.
+     */
+    private long localEpochSecond(long epochNano) {
+        long epochSecond = Math.floorDiv(epochNano, NANOS_PER_SECOND);
+        return epochSecond + offsetPeriod(epochSecond).offset().getTotalSeconds();
+    }
+
+    /**
+     * Break the local day containing the given local time down into its year, month and day of month, packed into a
+     * single long alongside the epoch day so that the most recent result can be cached without locking. The date only
+     * changes when the clock moves to another local day, so repeated reads between moves hit the cache.
+     *
+     * @return the epoch day in the upper 32 bits, then the year, month and day of month in bits 9, 5 and 0 upwards
+     */
+    private long civilDate(long localEpochSecond) {
+        long epochDay = Math.floorDiv(localEpochSecond, SECONDS_PER_DAY);
+        long cached = civilDate;
+        if (cached != NO_CIVIL_DATE && cached >> 32 == epochDay) {
+            return cached;
+        }
+        // Days are counted from 0000-03-01 in 400-year eras, so that leap days fall at the end of each year
+        long daysSinceMarch = epochDay + 719_468;
+        long era = Math.floorDiv(daysSinceMarch, 146_097);
+        long dayOfEra = daysSinceMarch - era * 146_097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1_460 + dayOfEra / 36_524 - dayOfEra / 146_096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long monthSinceMarch = (5 * dayOfYear + 2) / 153;
+        long dayOfMonth = dayOfYear - (153 * monthSinceMarch + 2) / 5 + 1;
+        long month = monthSinceMarch < 10 ? monthSinceMarch + 3 : monthSinceMarch - 9;
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+        long packed = epochDay << 32 | year << 9 | month << 5 | dayOfMonth;
+        civilDate = packed;
+        return packed;
+    }
+
+    private ZonedDateTime toZonedDateTime(long epochNano) {
+        return ZonedDateTime.ofInstant(toInstant(epochNano), zone);
+    }
+
+    static long toEpochNano(Instant instant) {
+        return Math.addExact(Math.multiplyExact(instant.getEpochSecond(), NANOS_PER_SECOND), instant.getNano());
+    }
+
+    static Instant toInstant(long epochNano) {
+        return Instant.ofEpochSecond(Math.floorDiv(epochNano, NANOS_PER_SECOND),
+                Math.floorMod(epochNano, NANOS_PER_SECOND));
     }
 }
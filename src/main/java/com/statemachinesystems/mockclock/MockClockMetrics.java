@@ -0,0 +1,79 @@
+package com.statemachinesystems.mockclock;
+
+import java.time.Duration;
+
+/**
+ * Immutable snapshot of the usage counts recorded by a {@link MockClock} while metrics are enabled.
+ * <p>
+ * Counts are taken from striped counters without stopping concurrent updates, so a snapshot taken while other
+ * threads are using the clock may include some of their in-flight operations and not others.
+ *
+ * @see MockClock#enableMetrics()
+ */
+public final class MockClockMetrics {
+
+    static final MockClockMetrics EMPTY = new MockClockMetrics(0, 0, 0, 0);
+
+    private final long reads;
+    private final long sets;
+    private final long advances;
+    private final long nanosAdvanced;
+
+    MockClockMetrics(long reads, long sets, long advances, long nanosAdvanced) {
+        this.reads = reads;
+        this.sets = sets;
+        this.advances = advances;
+        this.nanosAdvanced = nanosAdvanced;
+    }
+
+    /**
+     * Retrieve the number of calls to {@link MockClock#instant()} and {@link MockClock#millis()}.
+     *
+     * @return the number of reads
+     */
+    public long reads() {
+        return reads;
+    }
+
+    /**
+     * Retrieve the number of times the clock was set, had a field adjusted or had its wall time stepped.
+     *
+     * @return the number of sets
+     */
+    public long sets() {
+        return sets;
+    }
+
+    /**
+     * Retrieve the number of times the clock was advanced.
+     *
+     * @return the number of advances
+     */
+    public long advances() {
+        return advances;
+    }
+
+    /**
+     * Retrieve the total amount by which the clock was advanced, net of any negative advances.
+     *
+     * @return the number of nanoseconds advanced
+     */
+    public long nanosAdvanced() {
+        return nanosAdvanced;
+    }
+
+    /**
+     * Retrieve the total amount by which the clock was advanced as a {@link Duration}.
+     *
+     * @return the duration advanced
+     */
+    public Duration timeAdvanced() {
+        return Duration.ofNanos(nanosAdvanced);
+    }
+
+    @Override
+    public String toString() {
+        return "MockClockMetrics[reads=" + reads + ",sets=" + sets + ",advances=" + advances
+                + ",timeAdvanced=" + timeAdvanced() + "]";
+    }
+}
@@ -0,0 +1,395 @@
+package com.statemachinesystems.mockclock;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RunnableScheduledFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Implementation of {@link ScheduledExecutorService} that runs tasks in virtual time according to a
+ * {@link MockClock}.
+ * <p>
+ * Tasks never run on their own. They run on whichever thread moves the clock forward, in deadline order, and the
+ * clock shows each task's scheduled time while it runs. Advancing the clock by an hour therefore runs every task due
+ * within that hour, including repeated runs of periodic tasks, without waiting for any real time to pass. Tasks
+ * submitted without a delay run the next time the clock moves, or when {@link #runDueTasks()} is called.
+ * <p>
+ * Because nothing runs until the clock moves, blocking methods such as {@link #invokeAll} only return if another
+ * thread moves the clock, and {@link #awaitTermination(long, TimeUnit)} never blocks.
+ */
+public class MockScheduledExecutorService extends AbstractExecutorService implements ScheduledExecutorService {
+
+    private final MockClock clock;
+    private final Object lock = new Object();
+    private final TimerQueue timerQueue = new ScheduledTasks();
+    private ScheduledTask<?>[] heap = new ScheduledTask<?>[16];
+    private int size;
+    private long sequence;
+    private boolean shutdown;
+    private boolean terminated;
+
+    /**
+     * Construct a {@link MockScheduledExecutorService} whose tasks run as the given clock moves forward.
+     *
+     * @param clock  the clock to use
+     */
+    public MockScheduledExecutorService(MockClock clock) {
+        Objects.requireNonNull(clock, "clock");
+        this.clock = clock;
+        clock.attach(timerQueue);
+    }
+
+    /**
+     * Run every task that is due at the clock's current time, without moving the clock.
+     */
+    public void runDueTasks() {
+        clock.advanceByNanos(0);
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+        Objects.requireNonNull(command, "command");
+        Objects.requireNonNull(unit, "unit");
+        return enqueue(new ScheduledTask<Void>(command, null, deadline(delay, unit), 0));
+    }
+
+    @Override
+    public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+        Objects.requireNonNull(callable, "callable");
+        Objects.requireNonNull(unit, "unit");
+        return enqueue(new ScheduledTask<>(callable, deadline(delay, unit)));
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
+        Objects.requireNonNull(command, "command");
+        Objects.requireNonNull(unit, "unit");
+        if (period <= 0) {
+            throw new IllegalArgumentException("period must be positive");
+        }
+        return enqueue(new ScheduledTask<Void>(command, null, deadline(initialDelay, unit), unit.toNanos(period)));
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
+        Objects.requireNonNull(command, "command");
+        Objects.requireNonNull(unit, "unit");
+        if (delay <= 0) {
+            throw new IllegalArgumentException("delay must be positive");
+        }
+        return enqueue(new ScheduledTask<Void>(command, null, deadline(initialDelay, unit), -unit.toNanos(delay)));
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        schedule(command, 0, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public Future<?> submit(Runnable task) {
+        return schedule(task, 0, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public <T> Future<T> submit(Runnable task, T result) {
+        Objects.requireNonNull(task, "task");
+        return schedule(Executors.callable(task, result), 0, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public <T> Future<T> submit(Callable<T> task) {
+        return schedule(task, 0, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Stop accepting new tasks. Periodic tasks are cancelled; delayed tasks that are already scheduled still run as
+     * the clock moves forward.
+     */
+    @Override
+    public void shutdown() {
+        List<ScheduledTask<?>> periodic = new ArrayList<>();
+        synchronized (lock) {
+            shutdown = true;
+            for (int i = 0; i < size; i++) {
+                if (heap[i].isPeriodic()) {
+                    periodic.add(heap[i]);
+                }
+            }
+        }
+        for (ScheduledTask<?> task : periodic) {
+            task.cancel(false);
+        }
+        tryTerminate();
+    }
+
+    /**
+     * Stop accepting new tasks and cancel every scheduled task.
+     *
+     * @return the tasks that were scheduled but had not yet run
+     */
+    @Override
+    public List<Runnable> shutdownNow() {
+        List<Runnable> pending;
+        synchronized (lock) {
+            shutdown = true;
+            pending = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                heap[i].heapIndex = -1;
+                pending.add(heap[i]);
+                heap[i] = null;
+            }
+            size = 0;
+        }
+        for (Runnable task : pending) {
+            ((ScheduledTask<?>) task).cancel(false);
+        }
+        tryTerminate();
+        return pending;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        synchronized (lock) {
+            return shutdown;
+        }
+    }
+
+    @Override
+    public boolean isTerminated() {
+        synchronized (lock) {
+            return terminated;
+        }
+    }
+
+    /**
+     * Report whether this executor has terminated. Tasks only run when the clock moves, so waiting cannot change the
+     * outcome and this method returns immediately.
+     *
+     * @param timeout  ignored
+     * @param unit  ignored
+     * @return true if this executor has terminated
+     */
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) {
+        return isTerminated();
+    }
+
+    private long deadline(long delay, TimeUnit unit) {
+        long now = clock.epochNano();
+        long deadline = now + Math.max(0, unit.toNanos(delay));
+        return deadline < now ? Long.MAX_VALUE : deadline;
+    }
+
+    private <V> ScheduledTask<V> enqueue(ScheduledTask<V> task) {
+        synchronized (lock) {
+            if (shutdown) {
+                throw new RejectedExecutionException("Executor has been shut down");
+            }
+            offer(task);
+        }
+        return task;
+    }
+
+    private void reschedule(ScheduledTask<?> task) {
+        synchronized (lock) {
+            if (!shutdown && !task.isCancelled()) {
+                offer(task);
+            }
+        }
+    }
+
+    private void tryTerminate() {
+        boolean detach;
+        synchronized (lock) {
+            detach = shutdown && size == 0 && !terminated;
+            terminated = shutdown && size == 0;
+        }
+        if (detach) {
+            clock.detach(timerQueue);
+        }
+    }
+
+    private void offer(ScheduledTask<?> task) {
+        task.sequenceNumber = sequence++;
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, size * 2);
+        }
+        siftUp(size++, task);
+    }
+
+    private ScheduledTask<?> poll() {
+        ScheduledTask<?> first = heap[0];
+        ScheduledTask<?> last = heap[--size];
+        heap[size] = null;
+        if (size > 0) {
+            siftDown(0, last);
+        }
+        first.heapIndex = -1;
+        return first;
+    }
+
+    private void remove(ScheduledTask<?> task) {
+        int index = task.heapIndex;
+        if (index < 0 || index >= size || heap[index] != task) {
+            return;
+        }
+        task.heapIndex = -1;
+        ScheduledTask<?> last = heap[--size];
+        heap[size] = null;
+        if (index < size) {
+            siftDown(index, last);
+            if (heap[index] == last) {
+                siftUp(index, last);
+            }
+        }
+    }
+
+    private void siftUp(int index, ScheduledTask<?> task) {
+        while (index > 0) {
+            int parentIndex = (index - 1) >>> 1;
+            ScheduledTask<?> parent = heap[parentIndex];
+            if (!task.isBefore(parent)) {
+                break;
+            }
+            heap[index] = parent;
+            parent.heapIndex = index;
+            index = parentIndex;
+        }
+        heap[index] = task;
+        task.heapIndex = index;
+    }
+
+    private void siftDown(int index, ScheduledTask<?> task) {
+        int half = size >>> 1;
+        while (index < half) {
+            int childIndex = 2 * index + 1;
+            ScheduledTask<?> child = heap[childIndex];
+            int rightIndex = childIndex + 1;
+            if (rightIndex < size && heap[rightIndex].isBefore(child)) {
+                childIndex = rightIndex;
+                child = heap[childIndex];
+            }
+            if (!child.isBefore(task)) {
+                break;
+            }
+            heap[index] = child;
+            child.heapIndex = index;
+            index = childIndex;
+        }
+        heap[index] = task;
+        task.heapIndex = index;
+    }
+
+    private final class ScheduledTasks implements TimerQueue {
+
+        @Override
+        public long nextDeadline() {
+            synchronized (lock) {
+                return size == 0 ? Long.MAX_VALUE : heap[0].deadline;
+            }
+        }
+
+        @Override
+        public void expire(long epochNano) {
+            while (true) {
+                ScheduledTask<?> task;
+                synchronized (lock) {
+                    if (size == 0 || heap[0].deadline > epochNano) {
+                        break;
+                    }
+                    task = poll();
+                }
+                task.run();
+            }
+            tryTerminate();
+        }
+    }
+
+    private final class ScheduledTask<V> extends FutureTask<V> implements RunnableScheduledFuture<V> {
+
+        private final long period;
+        private volatile long deadline;
+        private long sequenceNumber;
+        private int heapIndex = -1;
+
+        ScheduledTask(Runnable runnable, V result, long deadline, long period) {
+            super(runnable, result);
+            this.deadline = deadline;
+            this.period = period;
+        }
+
+        ScheduledTask(Callable<V> callable, long deadline) {
+            super(callable);
+            this.deadline = deadline;
+            this.period = 0;
+        }
+
+        @Override
+        public boolean isPeriodic() {
+            return period != 0;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(deadline - clock.epochNano(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            if (other == this) {
+                return 0;
+            }
+            if (other instanceof MockScheduledExecutorService.ScheduledTask) {
+                return isBefore((ScheduledTask<?>) other) ? -1 : 1;
+            }
+            return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+        }
+
+        @Override
+        public void run() {
+            if (!isPeriodic()) {
+                super.run();
+            } else if (runAndReset()) {
+                deadline = nextDeadline();
+                reschedule(this);
+            }
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            if (cancelled) {
+                synchronized (lock) {
+                    remove(this);
+                }
+                tryTerminate();
+            }
+            return cancelled;
+        }
+
+        /**
+         * Compute the deadline of the next run of a periodic task, saturating at {@link Long#MAX_VALUE}, where the task
+         * stays parked, rather than wrapping around to a deadline that is always due.
+         */
+        private long nextDeadline() {
+            long from = period > 0 ? deadline : clock.epochNano();
+            long step = Math.abs(period);
+            return from > Long.MAX_VALUE - step ? Long.MAX_VALUE : from + step;
+        }
+
+        private boolean isBefore(ScheduledTask<?> other) {
+            return deadline < other.deadline || (deadline == other.deadline && sequenceNumber < other.sequenceNumber);
+        }
+    }
+}
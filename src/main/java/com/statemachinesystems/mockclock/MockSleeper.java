@@ -0,0 +1,220 @@
+package com.statemachinesystems.mockclock;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Blocking waits in virtual time according to a {@link MockClock}, standing in for {@link Thread#sleep(long)} in code
+ * under test.
+ * <p>
+ * A thread that calls {@link #sleep(Duration)} or {@link #awaitUntil(Instant)} parks until another thread sets or
+ * advances the clock to or past its deadline, however much real time that takes. Waiting threads are kept in a heap
+ * ordered by deadline, so each move of the clock unparks exactly the threads whose deadlines it reaches and leaves
+ * the rest undisturbed, even with thousands of threads waiting. Time that passes without the clock being set or
+ * advanced, through ticking on read or acceleration, does not wake waiting threads.
+ */
+public class MockSleeper {
+
+    private final MockClock clock;
+    private final Object lock = new Object();
+    private Waiter[] heap = new Waiter[16];
+    private int size;
+    private long sequence;
+
+    /**
+     * Construct a {@link MockSleeper} whose waits end as the given clock moves forward.
+     *
+     * @param clock  the clock to use
+     */
+    public MockSleeper(MockClock clock) {
+        Objects.requireNonNull(clock, "clock");
+        this.clock = clock;
+        clock.addListener(this::wakeUntil);
+    }
+
+    /**
+     * Park the calling thread until the clock has moved forward by the given duration.
+     *
+     * @param duration  the duration to wait, which returns immediately if zero or negative
+     * @throws InterruptedException if the calling thread is interrupted while waiting
+     */
+    public void sleep(Duration duration) throws InterruptedException {
+        Objects.requireNonNull(duration, "duration");
+        long now = clock.epochNano();
+        long deadline;
+        try {
+            deadline = Math.addExact(now, duration.toNanos());
+        } catch (ArithmeticException e) {
+            deadline = duration.isNegative() ? Long.MIN_VALUE : Long.MAX_VALUE;
+        }
+        await(deadline);
+    }
+
+    /**
+     * Park the calling thread until the clock reaches the given instant.
+     *
+     * @param deadline  the instant to wait for, which returns immediately if the clock has already reached it
+     * @throws InterruptedException if the calling thread is interrupted while waiting
+     */
+    public void awaitUntil(Instant deadline) throws InterruptedException {
+        Objects.requireNonNull(deadline, "deadline");
+        await(MockClock.toEpochNano(deadline));
+    }
+
+    /**
+     * Retrieve the number of threads currently waiting for the clock to reach their deadlines.
+     *
+     * @return the number of waiting threads
+     */
+    public int waitingThreads() {
+        synchronized (lock) {
+            return size;
+        }
+    }
+
+    private void await(long deadline) throws InterruptedException {
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+        if (clock.epochNano() >= deadline) {
+            return;
+        }
+        Waiter waiter = new Waiter(Thread.currentThread(), deadline);
+        synchronized (lock) {
+            offer(waiter);
+        }
+        // The clock may have reached the deadline before the waiter was queued, in which case no move will wake it
+        if (clock.epochNano() >= deadline) {
+            synchronized (lock) {
+                remove(waiter);
+            }
+            return;
+        }
+        while (!waiter.woken) {
+            LockSupport.park(this);
+            if (Thread.interrupted()) {
+                synchronized (lock) {
+                    if (waiter.woken) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    remove(waiter);
+                }
+                throw new InterruptedException();
+            }
+        }
+    }
+
+    private void wakeUntil(long previousEpochNano, long currentEpochNano) {
+        Waiter first = null;
+        Waiter last = null;
+        synchronized (lock) {
+            while (size > 0 && heap[0].deadline <= currentEpochNano) {
+                Waiter waiter = poll();
+                waiter.woken = true;
+                if (last == null) {
+                    first = waiter;
+                } else {
+                    last.nextWoken = waiter;
+                }
+                last = waiter;
+            }
+        }
+        for (Waiter waiter = first; waiter != null; waiter = waiter.nextWoken) {
+            LockSupport.unpark(waiter.thread);
+        }
+    }
+
+    private void offer(Waiter waiter) {
+        waiter.sequenceNumber = sequence++;
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, size * 2);
+        }
+        siftUp(size++, waiter);
+    }
+
+    private Waiter poll() {
+        Waiter first = heap[0];
+        Waiter last = heap[--size];
+        heap[size] = null;
+        if (size > 0) {
+            siftDown(0, last);
+        }
+        first.heapIndex = -1;
+        return first;
+    }
+
+    private void remove(Waiter waiter) {
+        int index = waiter.heapIndex;
+        if (index < 0 || index >= size || heap[index] != waiter) {
+            return;
+        }
+        waiter.heapIndex = -1;
+        Waiter last = heap[--size];
+        heap[size] = null;
+        if (index < size) {
+            siftDown(index, last);
+            if (heap[index] == last) {
+                siftUp(index, last);
+            }
+        }
+    }
+
+    private void siftUp(int index, Waiter waiter) {
+        while (index > 0) {
+            int parentIndex = (index - 1) >>> 1;
+            Waiter parent = heap[parentIndex];
+            if (!waiter.isBefore(parent)) {
+                break;
+            }
+            heap[index] = parent;
+            parent.heapIndex = index;
+            index = parentIndex;
+        }
+        heap[index] = waiter;
+        waiter.heapIndex = index;
+    }
+
+    private void siftDown(int index, Waiter waiter) {
+        int half = size >>> 1;
+        while (index < half) {
+            int childIndex = 2 * index + 1;
+            Waiter child = heap[childIndex];
+            int rightIndex = childIndex + 1;
+            if (rightIndex < size && heap[rightIndex].isBefore(child)) {
+                childIndex = rightIndex;
+                child = heap[childIndex];
+            }
+            if (!child.isBefore(waiter)) {
+                break;
+            }
+            heap[index] = child;
+            child.heapIndex = index;
+            index = childIndex;
+        }
+        heap[index] = waiter;
+        waiter.heapIndex = index;
+    }
+
+    private static final class Waiter {
+
+        private final Thread thread;
+        private final long deadline;
+        private long sequenceNumber;
+        private int heapIndex = -1;
+        private volatile boolean woken;
+        private Waiter nextWoken;
+
+        Waiter(Thread thread, long deadline) {
+            this.thread = thread;
+            this.deadline = deadline;
+        }
+
+        private boolean isBefore(Waiter other) {
+            return deadline < other.deadline || (deadline == other.deadline && sequenceNumber < other.sequenceNumber);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.statemachinesystems.mockclock;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Monotonic nanosecond time source linked to a {@link MockClock}, for code that measures elapsed time with
+ * {@link System#nanoTime()}.
+ * <p>
+ * The ticker starts at zero when its clock is created. Advancing the clock moves the ticker forward by the same
+ * amount, as does time passing on a clock that ticks on read or is accelerated. Setting the clock, adjusting its
+ * fields, stepping it with {@link MockClock#stepBy(java.time.Duration)} or advancing it by a negative amount changes
+ * only the wall time, as an NTP correction would, so none of these ever moves the ticker backwards.
+ * <p>
+ * The one exception is {@link MockClock#restore(MockClock.Snapshot)}, which rewinds the ticker along with the wall
+ * time to the values captured in the snapshot, so that a simulation branch resumes exactly where it was taken. Code
+ * that measures elapsed time across a restore can observe a negative interval.
+ * <p>
+ * Obtain a ticker with {@link MockClock#ticker()}. Every view of a clock's timeline shares the same ticker.
+ */
+public final class MockTicker implements LongSupplier {
+
+    private final Timeline timeline;
+
+    MockTicker(Timeline timeline) {
+        this.timeline = timeline;
+    }
+
+    /**
+     * Read the ticker, without allocating.
+     *
+     * @return the number of nanoseconds by which the ticker has moved since its clock was created
+     */
+    public long read() {
+        return timeline.monotonicNano();
+    }
+
+    /**
+     * Read the ticker, for use wherever a {@link LongSupplier} of nanosecond times is expected.
+     *
+     * @return the same value as {@link #read()}
+     */
+    @Override
+    public long getAsLong() {
+        return read();
+    }
+
+    @Override
+    public String toString() {
+        return "MockTicker[" + read() + "]";
+    }
+}
@@ -0,0 +1,120 @@
+package com.statemachinesystems.mockclock;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Delayed executors and timeouts for {@link CompletableFuture}s in virtual time according to a {@link MockClock}.
+ * <p>
+ * These mirror {@code CompletableFuture.delayedExecutor}, {@code orTimeout} and {@code completeOnTimeout}, but
+ * delays elapse as the clock moves rather than in real time, so timeout paths can be tested instantly and
+ * deterministically. Delayed tasks and timeouts fire on the thread that moves the clock, with the clock showing their
+ * exact deadline.
+ * <p>
+ * Deadlines are held in a {@link TimerWheel} with a resolution of one nanosecond, so scheduling a timeout and
+ * cancelling it when its future completes both take constant time, however many futures are waiting. A timeout that
+ * is cancelled because its future completed leaves nothing behind to fire later.
+ */
+public class MockTimeouts {
+
+    private final TimerWheel wheel;
+
+    /**
+     * Construct a {@link MockTimeouts} whose delays elapse as the given clock moves forward.
+     *
+     * @param clock  the clock to use
+     */
+    public MockTimeouts(MockClock clock) {
+        Objects.requireNonNull(clock, "clock");
+        this.wheel = new TimerWheel(clock, 1, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Retrieve an executor that runs each submitted task once the given delay has elapsed on the clock, on the
+     * thread that moves the clock.
+     *
+     * @param delay  the delay after which to run each task
+     * @return an executor that delays its tasks in virtual time
+     */
+    public Executor delayedExecutor(Duration delay) {
+        return delayedExecutor(delay, Runnable::run);
+    }
+
+    /**
+     * Retrieve an executor that passes each submitted task to the given executor once the given delay has elapsed on
+     * the clock.
+     *
+     * @param delay  the delay after which to pass on each task
+     * @param executor  the executor to run tasks once they are due
+     * @return an executor that delays its tasks in virtual time
+     */
+    public Executor delayedExecutor(Duration delay, Executor executor) {
+        Objects.requireNonNull(delay, "delay");
+        Objects.requireNonNull(executor, "executor");
+        long delayNanos = saturatedNanos(delay);
+        return command -> {
+            Objects.requireNonNull(command, "command");
+            wheel.schedule(() -> executor.execute(command), delayNanos, TimeUnit.NANOSECONDS);
+        };
+    }
+
+    /**
+     * Complete the given future exceptionally with a {@link TimeoutException} if it has not otherwise completed
+     * once the given timeout has elapsed on the clock.
+     *
+     * @param future  the future to time out
+     * @param timeout  the time to wait before timing out
+     * @param <T>  the result type of the future
+     * @return the given future
+     */
+    public <T> CompletableFuture<T> orTimeout(CompletableFuture<T> future, Duration timeout) {
+        Objects.requireNonNull(future, "future");
+        Objects.requireNonNull(timeout, "timeout");
+        return onTimeout(future, timeout, () -> future.completeExceptionally(new TimeoutException()));
+    }
+
+    /**
+     * Complete the given future with the given value if it has not otherwise completed once the given timeout has
+     * elapsed on the clock.
+     *
+     * @param future  the future to complete
+     * @param value  the value to complete the future with on timeout
+     * @param timeout  the time to wait before completing with the value
+     * @param <T>  the result type of the future
+     * @return the given future
+     */
+    public <T> CompletableFuture<T> completeOnTimeout(CompletableFuture<T> future, T value, Duration timeout) {
+        Objects.requireNonNull(future, "future");
+        Objects.requireNonNull(timeout, "timeout");
+        return onTimeout(future, timeout, () -> future.complete(value));
+    }
+
+    /**
+     * Retrieve the number of delayed tasks and timeouts that have neither fired nor been cancelled.
+     *
+     * @return the number of pending delayed tasks and timeouts
+     */
+    public int pendingTimeouts() {
+        return wheel.pendingTimers();
+    }
+
+    private <T> CompletableFuture<T> onTimeout(CompletableFuture<T> future, Duration timeout, Runnable action) {
+        if (!future.isDone()) {
+            long timerId = wheel.schedule(action, saturatedNanos(timeout), TimeUnit.NANOSECONDS);
+            future.whenComplete((result, failure) -> wheel.cancel(timerId));
+        }
+        return future;
+    }
+
+    private static long saturatedNanos(Duration duration) {
+        try {
+            return duration.toNanos();
+        } catch (ArithmeticException e) {
+            return duration.isNegative() ? Long.MIN_VALUE : Long.MAX_VALUE;
+        }
+    }
+}
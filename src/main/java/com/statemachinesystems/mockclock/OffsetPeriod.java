@@ -0,0 +1,80 @@
+package com.statemachinesystems.mockclock;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+
+/**
+ * The span of time between two transitions of a zone, during which its offset from UTC is constant.
+ * <p>
+ * Besides the instants it covers, a period records the range of local date-times that map to exactly one instant
+ * within it: local times that fall neither in the gap nor in the overlap at either end. Within that range, converting
+ * between local and instant time is a matter of adding or subtracting the offset, with no need to consult the zone's
+ * rules. Times are held as seconds since the epoch, with local times treated as if they were UTC.
+ */
+final class OffsetPeriod {
+
+    private final ZoneOffset offset;
+    private final long startEpochSecond;
+    private final long endEpochSecond;
+    private final long localStartEpochSecond;
+    private final long localEndEpochSecond;
+
+    private OffsetPeriod(ZoneOffset offset, long startEpochSecond, long endEpochSecond, long localStartEpochSecond,
+                         long localEndEpochSecond) {
+        this.offset = offset;
+        this.startEpochSecond = startEpochSecond;
+        this.endEpochSecond = endEpochSecond;
+        this.localStartEpochSecond = localStartEpochSecond;
+        this.localEndEpochSecond = localEndEpochSecond;
+    }
+
+    /**
+     * Find the period of the given rules containing the given instant.
+     *
+     * @param rules  the rules of the zone
+     * @param epochSecond  the instant, in seconds since the epoch
+     * @return the period containing the instant
+     */
+    static OffsetPeriod of(ZoneRules rules, long epochSecond) {
+        if (rules.isFixedOffset()) {
+            return new OffsetPeriod(rules.getOffset(Instant.EPOCH), Long.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE,
+                    Long.MAX_VALUE);
+        }
+        Instant instant = Instant.ofEpochSecond(epochSecond);
+        ZoneOffset offset = rules.getOffset(instant);
+        ZoneOffsetTransition next = rules.nextTransition(instant);
+        ZoneOffsetTransition previous = rules.previousTransition(next == null ? instant : next.getInstant());
+        if ((previous != null && (previous.toEpochSecond() > epochSecond || !previous.getOffsetAfter().equals(offset)))
+                || (next != null && !next.getOffsetBefore().equals(offset))) {
+            return new OffsetPeriod(offset, epochSecond, epochSecond + 1, 0, 0);
+        }
+        int offsetSeconds = offset.getTotalSeconds();
+        long start = Long.MIN_VALUE;
+        long localStart = Long.MIN_VALUE;
+        if (previous != null) {
+            start = previous.toEpochSecond();
+            localStart = start + Math.max(offsetSeconds, previous.getOffsetBefore().getTotalSeconds());
+        }
+        long end = Long.MAX_VALUE;
+        long localEnd = Long.MAX_VALUE;
+        if (next != null) {
+            end = next.toEpochSecond();
+            localEnd = end + Math.min(offsetSeconds, next.getOffsetAfter().getTotalSeconds());
+        }
+        return new OffsetPeriod(offset, start, end, localStart, localEnd);
+    }
+
+    ZoneOffset offset() {
+        return offset;
+    }
+
+    boolean contains(long epochSecond) {
+        return epochSecond >= startEpochSecond && epochSecond < endEpochSecond;
+    }
+
+    boolean containsLocal(long localEpochSecond) {
+        return localEpochSecond >= localStartEpochSecond && localEpochSecond < localEndEpochSecond;
+    }
+}
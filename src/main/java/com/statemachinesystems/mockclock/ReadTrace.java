@@ -0,0 +1,160 @@
+package com.statemachinesystems.mockclock;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Preallocated ring buffer recording the times observed by reads of a {@link MockClock}, together with the id of the
+ * reading thread and a global sequence number, for diagnosing flaky time-dependent tests.
+ * <p>
+ * Recording a read writes four primitive array elements and never allocates, so tracing can stay enabled without
+ * disturbing timing-sensitive code. Once the buffer is full, each new read overwrites the oldest record.
+ * <p>
+ * {@link #dump(Path)} writes the retained records, oldest first, in a compact big-endian binary format: the
+ * {@link #MAGIC} number as an int, followed by each record's sequence number, thread id and epoch nanoseconds as
+ * longs. Records are best read or dumped once the traced threads are quiet. Each slot is guarded by its sequence
+ * number, which is cleared before the slot is rewritten and published again afterwards, so a record being
+ * overwritten during a dump is skipped rather than emitted with a mixture of old and new fields.
+ *
+ * @see MockClock#startTracing(ReadTrace)
+ */
+public final class ReadTrace {
+
+    /**
+     * The magic number at the start of a dumped trace.
+     */
+    public static final int MAGIC = 0x4D435254;
+
+    /**
+     * Callback receiving the records retained by a {@link ReadTrace}.
+     */
+    @FunctionalInterface
+    public interface RecordVisitor {
+
+        /**
+         * Receive a single record.
+         *
+         * @param sequence  the position of the read among all reads recorded by the trace
+         * @param threadId  the id of the thread that performed the read
+         * @param epochNano  the time observed, in nanoseconds since the epoch
+         */
+        void visit(long sequence, long threadId, long epochNano);
+    }
+
+    private final int mask;
+    private final AtomicLongArray epochNanos;
+    private final AtomicLongArray threadIds;
+    private final AtomicLongArray publishedSequences;
+    private final AtomicLong sequence = new AtomicLong();
+
+    /**
+     * Construct a {@link ReadTrace} retaining at least the given number of the most recent reads.
+     *
+     * @param capacity  the minimum number of records to retain, rounded up to a power of two
+     */
+    public ReadTrace(int capacity) {
+        if (capacity <= 0 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("capacity must be between 1 and 2^30");
+        }
+        int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = size - 1;
+        this.epochNanos = new AtomicLongArray(size);
+        this.threadIds = new AtomicLongArray(size);
+        this.publishedSequences = new AtomicLongArray(size);
+    }
+
+    void record(long epochNano) {
+        long next = sequence.getAndIncrement();
+        int index = (int) next & mask;
+        // Invalidate the slot before touching its fields, so that readers never pair them with the old sequence
+        publishedSequences.set(index, 0);
+        epochNanos.lazySet(index, epochNano);
+        threadIds.lazySet(index, Thread.currentThread().getId());
+        publishedSequences.lazySet(index, next + 1);
+    }
+
+    /**
+     * Retrieve the number of records the buffer can hold.
+     *
+     * @return the capacity of the buffer
+     */
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Retrieve the total number of reads recorded, including those since overwritten.
+     *
+     * @return the number of reads recorded
+     */
+    public long recorded() {
+        return sequence.get();
+    }
+
+    /**
+     * Pass each retained record to the given visitor, oldest first.
+     *
+     * @param visitor  the visitor to receive the records
+     */
+    public void forEach(RecordVisitor visitor) {
+        Objects.requireNonNull(visitor, "visitor");
+        long end = sequence.get();
+        for (long next = Math.max(0, end - capacity()); next < end; next++) {
+            int index = (int) next & mask;
+            if (publishedSequences.get(index) == next + 1) {
+                long epochNano = epochNanos.get(index);
+                long threadId = threadIds.get(index);
+                if (publishedSequences.get(index) == next + 1) {
+                    visitor.visit(next, threadId, epochNano);
+                }
+            }
+        }
+    }
+
+    /**
+     * Write the retained records to the given file, replacing any existing content.
+     *
+     * @param file  the file to write
+     * @throws IOException if the file cannot be written
+     */
+    public void dump(Path file) throws IOException {
+        Objects.requireNonNull(file, "file");
+        try (OutputStream out = Files.newOutputStream(file)) {
+            dump(out);
+        }
+    }
+
+    /**
+     * Write the retained records to the given stream, which is flushed but not closed.
+     *
+     * @param out  the stream to write to
+     * @throws IOException if the stream cannot be written
+     */
+    public void dump(OutputStream out) throws IOException {
+        Objects.requireNonNull(out, "out");
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+        data.writeInt(MAGIC);
+        try {
+            forEach((sequence, threadId, epochNano) -> {
+                try {
+                    data.writeLong(sequence);
+                    data.writeLong(threadId);
+                    data.writeLong(epochNano);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        data.flush();
+    }
+}
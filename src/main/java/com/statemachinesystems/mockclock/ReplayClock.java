@@ -0,0 +1,272 @@
+package com.statemachinesystems.mockclock;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link Clock} that replays a recorded sequence of timestamps, such as request arrival times captured in production.
+ * <p>
+ * The trace is a binary file of epoch nanoseconds, each a big-endian long. It is memory-mapped a window at a time
+ * rather than read onto the heap, so traces of hundreds of millions of entries replay without copying. The clock
+ * starts at the first timestamp. In {@link Mode#ON_READ} mode, each call to {@link #instant()} or {@link #millis()}
+ * returns the next timestamp; in {@link Mode#ON_NEXT} mode, the clock only moves when {@link #next()} is called.
+ * Once the trace is exhausted, the clock stays at its last timestamp.
+ * <p>
+ * Each timestamp is applied by setting an underlying {@link MockClock}, available from {@link #mockClock()}, so
+ * schedulers and listeners attached to it see the replayed time.
+ */
+public final class ReplayClock extends Clock implements Closeable {
+
+    /**
+     * When a {@link ReplayClock} moves to its next timestamp.
+     */
+    public enum Mode {
+        /**
+         * Every read returns the next timestamp.
+         */
+        ON_READ,
+        /**
+         * The clock only moves when {@link ReplayClock#next()} is called.
+         */
+        ON_NEXT
+    }
+
+    private static final int WINDOW_BYTES = 1 << 27;
+
+    private final Trace trace;
+    private final MockClock clock;
+
+    private ReplayClock(Trace trace, MockClock clock) {
+        this.trace = trace;
+        this.clock = clock;
+    }
+
+    /**
+     * Open a trace file for replay.
+     *
+     * @param file  the trace file to replay
+     * @param zone  the zone to use
+     * @param mode  when to move to the next timestamp
+     * @return a {@link ReplayClock} set to the first timestamp in the trace
+     * @throws IOException if the file cannot be opened or mapped
+     */
+    public static ReplayClock open(Path file, ZoneId zone, Mode mode) throws IOException {
+        return open(file, zone, mode, WINDOW_BYTES);
+    }
+
+    static ReplayClock open(Path file, ZoneId zone, Mode mode, int windowBytes) throws IOException {
+        Objects.requireNonNull(file, "file");
+        Objects.requireNonNull(zone, "zone");
+        Objects.requireNonNull(mode, "mode");
+        Trace trace = new Trace(FileChannel.open(file, StandardOpenOption.READ), mode, windowBytes);
+        MockClock clock = MockClock.at(MockClock.toInstant(trace.epochNanoAt(0)), zone);
+        return new ReplayClock(trace, clock);
+    }
+
+    /**
+     * Move to the next timestamp in the trace.
+     *
+     * @return true if the clock moved, false if the trace is exhausted
+     */
+    public boolean next() {
+        long index = trace.claim();
+        if (index < 0) {
+            return false;
+        }
+        apply(index, trace.epochNanoAt(index));
+        return true;
+    }
+
+    /**
+     * Report whether the trace has timestamps remaining.
+     *
+     * @return true if the trace is not yet exhausted
+     */
+    public boolean hasNext() {
+        return trace.remaining() > 0;
+    }
+
+    /**
+     * Retrieve the number of timestamps in the trace.
+     *
+     * @return the length of the trace
+     */
+    public long size() {
+        return trace.size;
+    }
+
+    /**
+     * Retrieve the {@link MockClock} that this clock sets to each replayed timestamp.
+     *
+     * @return the underlying {@link MockClock}
+     */
+    public MockClock mockClock() {
+        return clock;
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return clock.getZone();
+    }
+
+    /**
+     * Retrieve a view of this clock in the given zone, replaying the same trace from the same position.
+     *
+     * @param zone  the zone to use
+     * @return a {@link ReplayClock} sharing this clock's trace in the given zone
+     */
+    @Override
+    public ReplayClock withZone(ZoneId zone) {
+        Objects.requireNonNull(zone, "zone");
+        return new ReplayClock(trace, clock.withZone(zone));
+    }
+
+    @Override
+    public Instant instant() {
+        return MockClock.toInstant(read());
+    }
+
+    @Override
+    public long millis() {
+        return Math.floorDiv(read(), MockClock.NANOS_PER_MILLI);
+    }
+
+    /**
+     * Close the trace file. Mapped windows are released once they are no longer reachable.
+     *
+     * @throws IOException if the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        trace.channel.close();
+    }
+
+    @Override
+    public String toString() {
+        return "ReplayClock[" + clock + "]";
+    }
+
+    private long read() {
+        if (trace.mode == Mode.ON_READ) {
+            long index = trace.claim();
+            if (index >= 0) {
+                long epochNano = trace.epochNanoAt(index);
+                apply(index, epochNano);
+                return epochNano;
+            }
+        }
+        return clock.epochNano();
+    }
+
+    /**
+     * Set the underlying clock to the timestamp at the given index, unless a later index has already been applied.
+     * Claims are ordered but the threads holding them are not, so without this check a thread could overwrite a later
+     * timestamp with an earlier one, and the underlying clock would end on a stale entry.
+     */
+    private void apply(long index, long epochNano) {
+        if (index <= trace.applied) {
+            return;
+        }
+        synchronized (trace) {
+            if (index > trace.applied) {
+                trace.applied = index;
+                clock.setEpochNano(epochNano);
+            }
+        }
+    }
+
+    /**
+     * The mapped trace file and replay position, shared by every zone view of a {@link ReplayClock}.
+     */
+    private static final class Trace {
+
+        private final FileChannel channel;
+        private final Mode mode;
+        private final int windowEntries;
+        private final long size;
+        private final AtomicLong position = new AtomicLong();
+        private volatile long applied;
+        private volatile Window window;
+
+        Trace(FileChannel channel, Mode mode, int windowBytes) throws IOException {
+            this.channel = channel;
+            this.mode = mode;
+            this.windowEntries = windowBytes / Long.BYTES;
+            long bytes = channel.size();
+            if (bytes == 0 || bytes % Long.BYTES != 0) {
+                channel.close();
+                throw new IllegalArgumentException("Trace must contain a whole, non-zero number of timestamps");
+            }
+            this.size = bytes / Long.BYTES;
+            this.window = map(0);
+            if (mode == Mode.ON_NEXT) {
+                position.set(1);
+            }
+        }
+
+        long remaining() {
+            return Math.max(0, size - position.get());
+        }
+
+        long claim() {
+            long index;
+            do {
+                index = position.get();
+                if (index >= size) {
+                    return -1;
+                }
+            } while (!position.compareAndSet(index, index + 1));
+            return index;
+        }
+
+        long epochNanoAt(long index) {
+            Window current = window;
+            long offset = index - current.firstIndex;
+            if (offset < 0 || offset >= windowEntries) {
+                current = remap(index);
+                offset = index - current.firstIndex;
+            }
+            return current.buffer.getLong((int) offset * Long.BYTES);
+        }
+
+        private synchronized Window remap(long index) {
+            Window current = window;
+            if (index < current.firstIndex || index - current.firstIndex >= windowEntries) {
+                try {
+                    current = map(index - index % windowEntries);
+                } catch (IOException e) {
+                    throw new IllegalStateException("Unable to map trace", e);
+                }
+                window = current;
+            }
+            return current;
+        }
+
+        private Window map(long firstIndex) throws IOException {
+            long entries = Math.min(windowEntries, size - firstIndex);
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, firstIndex * Long.BYTES,
+                    entries * Long.BYTES);
+            return new Window(firstIndex, buffer);
+        }
+    }
+
+    private static final class Window {
+
+        private final long firstIndex;
+        private final ByteBuffer buffer;
+
+        Window(long firstIndex, ByteBuffer buffer) {
+            this.firstIndex = firstIndex;
+            this.buffer = buffer;
+        }
+    }
+}
@@ -0,0 +1,300 @@
+package com.statemachinesystems.mockclock;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * Discrete-event simulation driven by a {@link MockClock}.
+ * <p>
+ * Events are queued at virtual instants and run in time order, with events at the same instant running in the order
+ * they were scheduled. {@link #runUntilIdle()} and {@link #runUntil(Instant)} jump the clock straight from one event
+ * to the next, so no real time is spent waiting, and the clock shows each event's time while it runs. Events may
+ * schedule further events, including at the current instant.
+ * <p>
+ * Moving the clock by any other means also runs the events that fall due, alongside the tasks of any
+ * {@link MockScheduledExecutorService} or {@link TimerWheel} driven by the same clock. Events run on the thread that
+ * moves the clock; an exception thrown by an event propagates to that thread, leaving the clock at the event's time
+ * and later events still queued.
+ * <p>
+ * The event queue is a persistent heap, so {@link #snapshot()} and {@link #fork()} take constant time and share
+ * pending events with the original rather than copying them. Events themselves are shared too, so an event that
+ * should act on whichever branch runs it should not capture a particular {@link Simulation} or clock.
+ */
+public class Simulation {
+
+    private final MockClock clock;
+    private final Object lock = new Object();
+    private Event queue;
+    private int size;
+    private long sequence;
+    private long eventsRun;
+
+    /**
+     * Construct a {@link Simulation} whose events run as the given clock moves forward.
+     *
+     * @param clock  the clock to use
+     */
+    public Simulation(MockClock clock) {
+        Objects.requireNonNull(clock, "clock");
+        this.clock = clock;
+        clock.attach(new Events());
+    }
+
+    /**
+     * Retrieve the clock driving this simulation.
+     *
+     * @return the {@link MockClock} used by this simulation
+     */
+    public MockClock clock() {
+        return clock;
+    }
+
+    /**
+     * Schedule an event to run at the given instant. Events scheduled in the past run as soon as the clock next moves.
+     *
+     * @param time  the instant at which to run the event
+     * @param event  the event to run
+     */
+    public void schedule(Instant time, Runnable event) {
+        Objects.requireNonNull(time, "time");
+        Objects.requireNonNull(event, "event");
+        schedule(MockClock.toEpochNano(time), event);
+    }
+
+    /**
+     * Schedule an event to run once the given delay has elapsed on the clock.
+     *
+     * @param delay  the delay after which to run the event
+     * @param event  the event to run
+     */
+    public void schedule(Duration delay, Runnable event) {
+        Objects.requireNonNull(delay, "delay");
+        Objects.requireNonNull(event, "event");
+        schedule(Math.addExact(clock.epochNano(), Math.max(0, delay.toNanos())), event);
+    }
+
+    /**
+     * Run events until none remain, moving the clock to each event's time in turn. Never returns if events keep
+     * scheduling further events.
+     *
+     * @return the number of events run
+     */
+    public long runUntilIdle() {
+        long start = eventsRun();
+        long next;
+        while ((next = nextTime()) != Long.MAX_VALUE) {
+            clock.advanceByNanos(Math.max(0, next - clock.epochNano()));
+        }
+        return eventsRun() - start;
+    }
+
+    /**
+     * Run every event due at or before the given instant, then leave the clock at that instant, or at its current time
+     * if that is later.
+     *
+     * @param time  the instant until which to run
+     * @return the number of events run
+     */
+    public long runUntil(Instant time) {
+        Objects.requireNonNull(time, "time");
+        long start = eventsRun();
+        clock.advanceByNanos(Math.max(0, MockClock.toEpochNano(time) - clock.epochNano()));
+        return eventsRun() - start;
+    }
+
+    /**
+     * Retrieve the number of events that have been scheduled but not yet run.
+     *
+     * @return the number of pending events
+     */
+    public int pendingEvents() {
+        synchronized (lock) {
+            return size;
+        }
+    }
+
+    /**
+     * Capture the state of this simulation and its clock, in constant time.
+     *
+     * @return a snapshot that can be passed to {@link #restore(Snapshot)}
+     */
+    public Snapshot snapshot() {
+        synchronized (lock) {
+            return new Snapshot(clock.snapshot(), queue, size, sequence);
+        }
+    }
+
+    /**
+     * Return this simulation and its clock to a previously captured state, discarding events scheduled since and
+     * reinstating events run since. The snapshot may have been taken from this simulation or from a fork of it.
+     *
+     * @param snapshot  the state to restore
+     */
+    public void restore(Snapshot snapshot) {
+        Objects.requireNonNull(snapshot, "snapshot");
+        clock.restore(snapshot.clock);
+        synchronized (lock) {
+            queue = snapshot.queue;
+            size = snapshot.size;
+            sequence = snapshot.sequence;
+        }
+    }
+
+    /**
+     * Create an independent copy of this simulation, driven by a fork of its clock, in constant time. Pending events
+     * are shared between the two simulations until one of them runs or schedules events.
+     *
+     * @return a new {@link Simulation} in the same state as this one
+     */
+    public Simulation fork() {
+        Snapshot snapshot = snapshot();
+        Simulation fork = new Simulation(clock.fork());
+        synchronized (fork.lock) {
+            fork.queue = snapshot.queue;
+            fork.size = snapshot.size;
+            fork.sequence = snapshot.sequence;
+        }
+        return fork;
+    }
+
+    private void schedule(long time, Runnable event) {
+        synchronized (lock) {
+            queue = Event.merge(queue, new Event(time, sequence++, event, null, null));
+            size++;
+        }
+    }
+
+    private long nextTime() {
+        synchronized (lock) {
+            return queue == null ? Long.MAX_VALUE : queue.time;
+        }
+    }
+
+    private long eventsRun() {
+        synchronized (lock) {
+            return eventsRun;
+        }
+    }
+
+    /**
+     * An immutable capture of the state of a {@link Simulation} and its clock.
+     */
+    public static final class Snapshot {
+
+        private final MockClock.Snapshot clock;
+        private final Event queue;
+        private final int size;
+        private final long sequence;
+
+        private Snapshot(MockClock.Snapshot clock, Event queue, int size, long sequence) {
+            this.clock = clock;
+            this.queue = queue;
+            this.size = size;
+            this.sequence = sequence;
+        }
+
+        /**
+         * Retrieve the time of the simulation's clock when the snapshot was taken.
+         *
+         * @return the captured clock state
+         */
+        public MockClock.Snapshot clock() {
+            return clock;
+        }
+
+        /**
+         * Retrieve the number of events that were pending when the snapshot was taken.
+         *
+         * @return the number of pending events
+         */
+        public int pendingEvents() {
+            return size;
+        }
+    }
+
+    /**
+     * A node of an immutable leftist heap of events, ordered by time and then by scheduling order. Merging copies only
+     * the right spines of the heaps involved, which have logarithmic length, and shares every other node.
+     */
+    private static final class Event {
+
+        private final long time;
+        private final long sequenceNumber;
+        private final Runnable event;
+        private final Event left;
+        private final Event right;
+        private final int rank;
+
+        Event(long time, long sequenceNumber, Runnable event, Event left, Event right) {
+            this.time = time;
+            this.sequenceNumber = sequenceNumber;
+            this.event = event;
+            if (rank(left) >= rank(right)) {
+                this.left = left;
+                this.right = right;
+            } else {
+                this.left = right;
+                this.right = left;
+            }
+            this.rank = rank(this.right) + 1;
+        }
+
+        static Event merge(Event a, Event b) {
+            if (a == null) {
+                return b;
+            }
+            if (b == null) {
+                return a;
+            }
+            if (b.isBefore(a)) {
+                Event swap = a;
+                a = b;
+                b = swap;
+            }
+            return new Event(a.time, a.sequenceNumber, a.event, a.left, merge(a.right, b));
+        }
+
+        Event pop() {
+            return merge(left, right);
+        }
+
+        private boolean isBefore(Event other) {
+            return time < other.time || (time == other.time && sequenceNumber < other.sequenceNumber);
+        }
+
+        private static int rank(Event event) {
+            return event == null ? 0 : event.rank;
+        }
+    }
+
+    private final class Events implements TimerQueue {
+
+        @Override
+        public long nextDeadline() {
+            return nextTime();
+        }
+
+        @Override
+        public boolean isRestorable() {
+            return true;
+        }
+
+        @Override
+        public void expire(long epochNano) {
+            while (true) {
+                Runnable event;
+                synchronized (lock) {
+                    if (queue == null || queue.time > epochNano) {
+                        return;
+                    }
+                    event = queue.event;
+                    queue = queue.pop();
+                    size--;
+                    eventsRun++;
+                }
+                event.run();
+            }
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.statemachinesystems.mockclock;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Runs a simulation scenario under many random seeds in parallel, each in its own {@link Universe}.
+ * <p>
+ * A universe owns a {@link MockClock} starting at the runner's start instant, a {@link Simulation} driven by that
+ * clock and a {@link SplittableRandom} seeded with the universe's seed. Universes share nothing, so seeds are fanned
+ * out over a {@link ForkJoinPool} and can use every core. As long as a scenario takes its randomness only from its
+ * universe, any failing seed reproduces exactly when passed to {@link #replay(Scenario, long)}, which runs it on the
+ * calling thread.
+ */
+public final class SimulationRunner {
+
+    /**
+     * A scenario to run in each universe.
+     */
+    @FunctionalInterface
+    public interface Scenario {
+
+        /**
+         * Run the scenario, signalling failure by throwing.
+         *
+         * @param universe  the universe in which to run
+         * @throws Exception if the scenario fails
+         */
+        void run(Universe universe) throws Exception;
+    }
+
+    /**
+     * The clock, simulation and source of randomness owned by a single run of a scenario.
+     */
+    public static final class Universe {
+
+        private final long seed;
+        private final MockClock clock;
+        private final Simulation simulation;
+        private final SplittableRandom random;
+
+        private Universe(long seed, MockClock clock) {
+            this.seed = seed;
+            this.clock = clock;
+            this.simulation = new Simulation(clock);
+            this.random = new SplittableRandom(seed);
+        }
+
+        /**
+         * Retrieve the seed of this universe.
+         *
+         * @return the seed
+         */
+        public long seed() {
+            return seed;
+        }
+
+        /**
+         * Retrieve the clock of this universe.
+         *
+         * @return the universe's {@link MockClock}
+         */
+        public MockClock clock() {
+            return clock;
+        }
+
+        /**
+         * Retrieve the simulation of this universe, driven by its clock.
+         *
+         * @return the universe's {@link Simulation}
+         */
+        public Simulation simulation() {
+            return simulation;
+        }
+
+        /**
+         * Retrieve the source of randomness of this universe, seeded with its seed.
+         *
+         * @return the universe's {@link SplittableRandom}
+         */
+        public SplittableRandom random() {
+            return random;
+        }
+    }
+
+    /**
+     * A seed under which a scenario failed, together with the cause.
+     */
+    public static final class Failure {
+
+        private final long seed;
+        private final Throwable cause;
+
+        private Failure(long seed, Throwable cause) {
+            this.seed = seed;
+            this.cause = cause;
+        }
+
+        /**
+         * Retrieve the seed under which the scenario failed.
+         *
+         * @return the failing seed
+         */
+        public long seed() {
+            return seed;
+        }
+
+        /**
+         * Retrieve the exception or assertion failure thrown by the scenario.
+         *
+         * @return the cause of the failure
+         */
+        public Throwable cause() {
+            return cause;
+        }
+
+        @Override
+        public String toString() {
+            return "Failure[seed=" + seed + "," + cause + "]";
+        }
+    }
+
+    private final Instant start;
+    private final ZoneId zone;
+    private final ForkJoinPool pool;
+
+    /**
+     * Construct a {@link SimulationRunner} using the common fork-join pool.
+     *
+     * @param start  the instant at which each universe's clock starts
+     * @param zone  the zone of each universe's clock
+     */
+    public SimulationRunner(Instant start, ZoneId zone) {
+        this(start, zone, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Construct a {@link SimulationRunner} using the given fork-join pool.
+     *
+     * @param start  the instant at which each universe's clock starts
+     * @param zone  the zone of each universe's clock
+     * @param pool  the pool in which to run universes
+     */
+    public SimulationRunner(Instant start, ZoneId zone, ForkJoinPool pool) {
+        Objects.requireNonNull(start, "start");
+        Objects.requireNonNull(zone, "zone");
+        Objects.requireNonNull(pool, "pool");
+        this.start = start;
+        this.zone = zone;
+        this.pool = pool;
+    }
+
+    /**
+     * Run the scenario once for each of a consecutive range of seeds, in parallel.
+     *
+     * @param scenario  the scenario to run
+     * @param firstSeed  the first seed to use
+     * @param count  the number of seeds to use
+     * @return the failures, in seed order, or an empty list if every run succeeded
+     */
+    public List<Failure> run(Scenario scenario, long firstSeed, int count) {
+        Objects.requireNonNull(scenario, "scenario");
+        if (count < 0) {
+            throw new IllegalArgumentException("count must not be negative");
+        }
+        return pool.invoke(new RunSeeds(scenario, firstSeed, firstSeed + count));
+    }
+
+    /**
+     * Run the scenario for a single seed on the calling thread, for example to debug a failure reported by
+     * {@link #run(Scenario, long, int)}.
+     *
+     * @param scenario  the scenario to run
+     * @param seed  the seed to use
+     * @return the universe in which the scenario ran
+     * @throws Exception if the scenario fails
+     */
+    public Universe replay(Scenario scenario, long seed) throws Exception {
+        Objects.requireNonNull(scenario, "scenario");
+        Universe universe = new Universe(seed, MockClock.at(start, zone));
+        scenario.run(universe);
+        return universe;
+    }
+
+    private final class RunSeeds extends RecursiveTask<List<Failure>> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Scenario scenario;
+        private final long fromSeed;
+        private final long toSeed;
+
+        RunSeeds(Scenario scenario, long fromSeed, long toSeed) {
+            this.scenario = scenario;
+            this.fromSeed = fromSeed;
+            this.toSeed = toSeed;
+        }
+
+        @Override
+        protected List<Failure> compute() {
+            if (toSeed - fromSeed == 1) {
+                try {
+                    replay(scenario, fromSeed);
+                    return Collections.emptyList();
+                } catch (Exception | AssertionError e) {
+                    return Collections.singletonList(new Failure(fromSeed, e));
+                }
+            }
+            if (toSeed == fromSeed) {
+                return Collections.emptyList();
+            }
+            long middle = fromSeed + (toSeed - fromSeed) / 2;
+            RunSeeds upper = new RunSeeds(scenario, middle, toSeed);
+            upper.fork();
+            List<Failure> lowerFailures = new RunSeeds(scenario, fromSeed, middle).compute();
+            List<Failure> upperFailures = upper.join();
+            if (upperFailures.isEmpty()) {
+                return lowerFailures;
+            }
+            if (lowerFailures.isEmpty()) {
+                return upperFailures;
+            }
+            List<Failure> failures = new ArrayList<>(lowerFailures.size() + upperFailures.size());
+            failures.addAll(lowerFailures);
+            failures.addAll(upperFailures);
+            return failures;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.statemachinesystems.mockclock;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * {@link Clock} that routes each call to a {@link MockClock} belonging to the calling thread, so that tests running
+ * in parallel can each control their own time while the code under test reads from a single shared clock.
+ * <p>
+ * Each thread's clock is created on first use by the supplied factory, or bound explicitly with
+ * {@link #set(MockClock)}. With {@link #inheritable(Supplier)}, threads started by a thread that already has a clock
+ * share that clock, so a test's worker threads observe the time the test controls. Clocks are held in thread-local
+ * storage, so lookups take no locks and never contend with other threads.
+ */
+public final class ThreadScopedClock extends Clock {
+
+    private final ThreadLocal<MockClock> clocks;
+    private final ZoneId zone;
+
+    private ThreadScopedClock(ThreadLocal<MockClock> clocks, ZoneId zone) {
+        this.clocks = clocks;
+        this.zone = zone;
+    }
+
+    /**
+     * Construct a {@link ThreadScopedClock} that gives every thread its own {@link MockClock}.
+     *
+     * @param factory  the factory used to create each thread's clock on first use
+     * @return a {@link ThreadScopedClock} instance
+     */
+    public static ThreadScopedClock perThread(Supplier<MockClock> factory) {
+        Objects.requireNonNull(factory, "factory");
+        return new ThreadScopedClock(ThreadLocal.withInitial(factory), null);
+    }
+
+    /**
+     * Construct a {@link ThreadScopedClock} whose threads share the {@link MockClock} of the thread that started them,
+     * if it has one.
+     *
+     * @param factory  the factory used to create a clock for threads that have not inherited one
+     * @return a {@link ThreadScopedClock} instance
+     */
+    public static ThreadScopedClock inheritable(Supplier<MockClock> factory) {
+        Objects.requireNonNull(factory, "factory");
+        return new ThreadScopedClock(new InheritableThreadLocal<MockClock>() {
+            @Override
+            protected MockClock initialValue() {
+                return factory.get();
+            }
+        }, null);
+    }
+
+    /**
+     * Retrieve the calling thread's clock, creating it if necessary.
+     *
+     * @return the calling thread's {@link MockClock}
+     */
+    public MockClock current() {
+        MockClock clock = clocks.get();
+        return zone == null ? clock : clock.withZone(zone);
+    }
+
+    /**
+     * Bind the given clock to the calling thread.
+     *
+     * @param clock  the clock to use
+     */
+    public void set(MockClock clock) {
+        Objects.requireNonNull(clock, "clock");
+        clocks.set(clock);
+    }
+
+    /**
+     * Unbind the calling thread's clock, so that the next use creates a new one.
+     */
+    public void reset() {
+        clocks.remove();
+    }
+
+    /**
+     * Retrieve the zone of the calling thread's clock, or the zone given to {@link #withZone(ZoneId)}.
+     *
+     * @return the zone in use on the calling thread
+     */
+    @Override
+    public ZoneId getZone() {
+        return zone == null ? clocks.get().getZone() : zone;
+    }
+
+    /**
+     * Retrieve a {@link ThreadScopedClock} that routes to the same per-thread clocks, viewed in the given zone.
+     *
+     * @param zone  the zone to use
+     * @return a {@link ThreadScopedClock} sharing this clock's per-thread clocks in the given zone
+     */
+    @Override
+    public ThreadScopedClock withZone(ZoneId zone) {
+        Objects.requireNonNull(zone, "zone");
+        return new ThreadScopedClock(clocks, zone);
+    }
+
+    @Override
+    public Instant instant() {
+        return clocks.get().instant();
+    }
+
+    @Override
+    public long millis() {
+        return clocks.get().millis();
+    }
+
+    @Override
+    public String toString() {
+        return "ThreadScopedClock[" + current() + "]";
+    }
+}
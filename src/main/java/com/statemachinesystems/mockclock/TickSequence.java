@@ -0,0 +1,83 @@
+package com.statemachinesystems.mockclock;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A repeating sequence of steps by which a {@link Timeline} moves forward on each read.
+ * <p>
+ * Rather than writing to the timeline, each read claims the next index in the sequence, and the offset for that index
+ * is computed from precalculated prefix sums. Concurrent readers therefore never contend on the timeline itself, and
+ * however reads interleave, the n-th read always observes the same offset.
+ * <p>
+ * A sequence is retired by freezing it, after which reads claim nothing and all observe the offset reached so far.
+ * A replacement sequence starts from that offset, so swapping sequences never moves the time backwards, even for a
+ * reader that picked up the old sequence just before the swap.
+ */
+final class TickSequence {
+
+    private static final long FROZEN = 1L << 62;
+
+    private final long[] offsets;
+    private final long period;
+    private final long base;
+    private final AtomicLong reads = new AtomicLong();
+    private volatile long frozenAt = -1;
+
+    TickSequence(long[] steps, long base) {
+        offsets = new long[steps.length];
+        long total = 0;
+        for (int i = 0; i < steps.length; i++) {
+            offsets[i] = total;
+            total = Math.addExact(total, steps[i]);
+        }
+        period = total;
+        this.base = base;
+    }
+
+    /**
+     * Retrieve the offset that the next read will observe, without claiming it.
+     *
+     * @return the offset in nanoseconds
+     */
+    long offset() {
+        return offsetAt(reads.get());
+    }
+
+    /**
+     * Claim the next read, returning the offset it observes.
+     *
+     * @return the offset in nanoseconds
+     */
+    long next() {
+        return offsetAt(reads.getAndIncrement());
+    }
+
+    /**
+     * Stop claiming reads, so that every subsequent read observes the offset reached so far. Freezing a sequence that
+     * is already frozen has no further effect.
+     *
+     * @return the offset at which the sequence is frozen
+     */
+    long freeze() {
+        while (true) {
+            long read = reads.get();
+            if (read >= FROZEN) {
+                return offsetAt(read);
+            }
+            if (reads.compareAndSet(read, read + FROZEN)) {
+                frozenAt = read;
+                return offsetAt(read);
+            }
+        }
+    }
+
+    private long offsetAt(long read) {
+        if (read >= FROZEN) {
+            // Reads claimed after freezing count for nothing; wait for the freezing thread to publish where it stopped
+            while ((read = frozenAt) < 0) {
+                Thread.yield();
+            }
+        }
+        return base + (read / offsets.length) * period + offsets[(int) (read % offsets.length)];
+    }
+}
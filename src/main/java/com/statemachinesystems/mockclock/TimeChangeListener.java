@@ -0,0 +1,16 @@
+package com.statemachinesystems.mockclock;
+
+/**
+ * Callback notified whenever the time of a {@link MockClock} is set or advanced.
+ */
+@FunctionalInterface
+public interface TimeChangeListener {
+
+    /**
+     * Called on the thread that changed the clock, after the change has been made.
+     *
+     * @param previousEpochNano  the clock's previous time in nanoseconds since the epoch
+     * @param currentEpochNano  the clock's new time in nanoseconds since the epoch
+     */
+    void timeChanged(long previousEpochNano, long currentEpochNano);
+}
@@ -0,0 +1,443 @@
+package com.statemachinesystems.mockclock;
+
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * The time cell shared by every zone view of a {@link MockClock}.
+ * <p>
+ * Time is held as a count of nanoseconds since the epoch. Reads are single volatile loads; plain sets are published
+ * with release semantics, and adjustments that depend on the current time are applied with compare-and-set, unless
+ * {@link TimerQueue}s are attached, in which case moves are serialised so that the clock can stop at each deadline.
+ * Listeners are held in copy-on-write arrays, so registering one never blocks a thread that is moving the clock, and
+ * notifying an empty array costs no more than reading its length.
+ * <p>
+ * When a {@link TickSequence} or an {@link Acceleration} is installed, the stored time excludes the ticks claimed by
+ * reads so far and the time elapsed since acceleration began; the offset they add is folded in whenever the time is
+ * observed or moved, so reads never write to the shared cell.
+ * <p>
+ * Alongside the wall time, the timeline keeps a monotonic count of nanoseconds for its {@link MockTicker}. Forward
+ * advances, ticks and acceleration move both; sets, adjustments and steps move only the wall time. The monotonic time
+ * is only ever moved under the timer lock, and is published before the wall time it accompanies.
+ */
+final class Timeline {
+
+    private static final AtomicLongFieldUpdater<Timeline> EPOCH_NANO =
+            AtomicLongFieldUpdater.newUpdater(Timeline.class, "epochNano");
+    private static final AtomicLongFieldUpdater<Timeline> MONOTONIC_NANO =
+            AtomicLongFieldUpdater.newUpdater(Timeline.class, "monotonicNano");
+
+    private static final TimerQueue[] NO_TIMER_QUEUES = new TimerQueue[0];
+    private static final TimeChangeListener[] NO_LISTENERS = new TimeChangeListener[0];
+
+    private volatile long epochNano;
+    private volatile long monotonicNano;
+    private final MockTicker ticker = new MockTicker(this);
+    private final ConcurrentMap<ZoneId, MockClock> views = new ConcurrentHashMap<>();
+    private final Object timerLock = new Object();
+    private volatile TimerQueue[] timerQueues = NO_TIMER_QUEUES;
+    private final Object listenerLock = new Object();
+    private volatile TimeChangeListener[] listeners = NO_LISTENERS;
+    private final Object offsetLock = new Object();
+    private volatile TickSequence ticks;
+    private volatile Acceleration acceleration;
+    private volatile MetricsRecorder metrics;
+    private volatile ReadTrace trace;
+    private volatile Jitter jitter;
+
+    Timeline(long epochNano) {
+        this(epochNano, 0);
+    }
+
+    Timeline(long epochNano, long monotonicNano) {
+        this.epochNano = epochNano;
+        this.monotonicNano = monotonicNano;
+    }
+
+    long epochNano() {
+        return epochNano + offset();
+    }
+
+    long monotonicNano() {
+        return monotonicNano + offset();
+    }
+
+    MockTicker ticker() {
+        return ticker;
+    }
+
+    /**
+     * Read the time, moving it forward by the next step if ticking on read.
+     *
+     * @return the time before any tick, in nanoseconds since the epoch
+     */
+    long read() {
+        MetricsRecorder metrics = this.metrics;
+        if (metrics != null) {
+            metrics.recordRead();
+        }
+        TickSequence ticks = this.ticks;
+        long epochNano = ticks == null
+                ? this.epochNano + accelerationOffset()
+                : this.epochNano + accelerationOffset() + ticks.next();
+        Jitter jitter = this.jitter;
+        if (jitter != null) {
+            epochNano = jitter.apply(epochNano);
+        }
+        ReadTrace trace = this.trace;
+        if (trace != null) {
+            trace.record(epochNano);
+        }
+        return epochNano;
+    }
+
+    /**
+     * Install a sequence of steps by which each subsequent {@link #read()} moves the time forward, replacing any
+     * previous sequence, or stop ticking if the steps are null. Ticks already claimed are retained: the previous
+     * sequence is frozen and the new one continues from its offset, so concurrent readers never see the time jump
+     * back.
+     *
+     * @param steps  the steps of the sequence to install, or null
+     */
+    void tickOnRead(long[] steps) {
+        synchronized (offsetLock) {
+            TickSequence previous = ticks;
+            long base = previous == null ? 0 : previous.freeze();
+            if (steps != null) {
+                ticks = new TickSequence(steps, base);
+            }
+        }
+    }
+
+    double scale() {
+        Acceleration acceleration = this.acceleration;
+        return acceleration == null ? 0 : acceleration.scale();
+    }
+
+    /**
+     * Make time pass at the given multiple of {@link System#nanoTime()}, continuing from the current time. A scale of
+     * zero stops time passing, retaining the time that has already passed.
+     *
+     * @param scale  the scale factor
+     */
+    void setScale(double scale) {
+        synchronized (offsetLock) {
+            Acceleration previous = acceleration;
+            if (previous == null) {
+                if (scale != 0) {
+                    acceleration = new Acceleration(System.nanoTime(), scale, 0);
+                }
+                return;
+            }
+            // Retire before sampling the time of the change, so that no reader extrapolates the old scale beyond it
+            previous.retire();
+            acceleration = previous.withScale(System.nanoTime(), scale);
+        }
+    }
+
+    /**
+     * Start recording usage metrics with fresh counters, or stop if the recorder is null.
+     *
+     * @param metrics  the recorder to use, or null
+     */
+    void recordMetrics(MetricsRecorder metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Start applying the given jitter to each {@link #read()}, or stop if the jitter is null.
+     *
+     * @param jitter  the jitter to apply, or null
+     */
+    void jitter(Jitter jitter) {
+        this.jitter = jitter;
+    }
+
+    /**
+     * Start recording reads into the given trace, or stop if the trace is null.
+     *
+     * @param trace  the trace to record into, or null
+     */
+    void trace(ReadTrace trace) {
+        this.trace = trace;
+    }
+
+    MockClockMetrics metrics() {
+        MetricsRecorder metrics = this.metrics;
+        return metrics == null ? MockClockMetrics.EMPTY : metrics.snapshot();
+    }
+
+    /**
+     * Retrieve the view of this timeline in the given zone, creating it on first use.
+     *
+     * @param zone  the zone of the view
+     * @return the view of this timeline in the given zone
+     */
+    MockClock view(ZoneId zone) {
+        MockClock view = views.get(zone);
+        if (view == null) {
+            MockClock created = new MockClock(this, zone);
+            view = views.putIfAbsent(zone, created);
+            if (view == null) {
+                view = created;
+            }
+        }
+        return view;
+    }
+
+    void set(long epochNano) {
+        recordSet();
+        if (timerQueues.length != 0) {
+            synchronized (timerLock) {
+                runTimersUntil(epochNano, false);
+            }
+            return;
+        }
+        long offset = offset();
+        if (listeners.length == 0) {
+            EPOCH_NANO.lazySet(this, epochNano - offset);
+        } else {
+            notifyListeners(EPOCH_NANO.getAndSet(this, epochNano - offset) + offset, epochNano);
+        }
+    }
+
+    /**
+     * Move the wall time and, if moving forward, the monotonic time by the given amount.
+     *
+     * @param nanos  the number of nanoseconds by which to move
+     */
+    void advance(long nanos) {
+        move(nanos, true);
+    }
+
+    /**
+     * Move the wall time by the given amount, leaving the monotonic time unchanged.
+     *
+     * @param nanos  the number of nanoseconds by which to move
+     */
+    void step(long nanos) {
+        move(nanos, false);
+    }
+
+    void update(LongUnaryOperator function) {
+        recordSet();
+        if (timerQueues.length != 0) {
+            synchronized (timerLock) {
+                runTimersUntil(function.applyAsLong(epochNano()), false);
+            }
+            return;
+        }
+        long offset = offset();
+        long current;
+        long updated;
+        do {
+            current = epochNano;
+            updated = function.applyAsLong(current + offset) - offset;
+        } while (!EPOCH_NANO.compareAndSet(this, current, updated));
+        notifyListeners(current + offset, updated + offset);
+    }
+
+    /**
+     * Capture the wall and monotonic times together. The monotonic time only moves under the timer lock, so holding it
+     * while reading both, with a single offset, yields a pair that the timeline actually showed.
+     *
+     * @return the captured wall and monotonic times
+     */
+    MockClock.Snapshot snapshot() {
+        synchronized (timerLock) {
+            long offset = offset();
+            return new MockClock.Snapshot(epochNano + offset, monotonicNano + offset);
+        }
+    }
+
+    /**
+     * Return the wall and monotonic times to previously captured values, without running any timers. Fails if a timer
+     * queue whose state is not restored alongside has pending timers, since their deadlines would no longer be
+     * meaningful.
+     *
+     * @param epochNano  the wall time to restore
+     * @param monotonicNano  the monotonic time to restore
+     */
+    void restore(long epochNano, long monotonicNano) {
+        synchronized (timerLock) {
+            for (TimerQueue timerQueue : timerQueues) {
+                if (!timerQueue.isRestorable() && timerQueue.nextDeadline() != Long.MAX_VALUE) {
+                    throw new IllegalStateException(
+                            "Cannot restore while an attached scheduler that cannot be restored has pending tasks");
+                }
+            }
+            recordSet();
+            long offset = offset();
+            long previous = this.epochNano + offset;
+            MONOTONIC_NANO.lazySet(this, monotonicNano - offset);
+            EPOCH_NANO.lazySet(this, epochNano - offset);
+            notifyListeners(previous, epochNano);
+        }
+    }
+
+    void attach(TimerQueue timerQueue) {
+        synchronized (timerLock) {
+            TimerQueue[] attached = Arrays.copyOf(timerQueues, timerQueues.length + 1);
+            attached[attached.length - 1] = timerQueue;
+            timerQueues = attached;
+        }
+    }
+
+    void detach(TimerQueue timerQueue) {
+        synchronized (timerLock) {
+            List<TimerQueue> attached = new ArrayList<>(Arrays.asList(timerQueues));
+            attached.remove(timerQueue);
+            timerQueues = attached.toArray(NO_TIMER_QUEUES);
+        }
+    }
+
+    void addListener(TimeChangeListener listener) {
+        synchronized (listenerLock) {
+            TimeChangeListener[] registered = Arrays.copyOf(listeners, listeners.length + 1);
+            registered[registered.length - 1] = listener;
+            listeners = registered;
+        }
+    }
+
+    void removeListener(TimeChangeListener listener) {
+        synchronized (listenerLock) {
+            List<TimeChangeListener> registered = new ArrayList<>(Arrays.asList(listeners));
+            registered.remove(listener);
+            listeners = registered.toArray(NO_LISTENERS);
+        }
+    }
+
+    private void move(long nanos, boolean monotonic) {
+        if (timerQueues.length != 0) {
+            synchronized (timerLock) {
+                runTimersUntil(Math.addExact(epochNano(), nanos), monotonic);
+            }
+        } else if (monotonic && nanos > 0) {
+            // The monotonic time only moves under the timer lock, so the pair can be captured consistently
+            synchronized (timerLock) {
+                advanceWhileLocked(nanos);
+            }
+        } else {
+            long offset = offset();
+            long current;
+            long updated;
+            do {
+                current = epochNano;
+                updated = Math.addExact(current, nanos);
+            } while (!EPOCH_NANO.compareAndSet(this, current, updated));
+            notifyListeners(current + offset, updated + offset);
+        }
+        MetricsRecorder metrics = this.metrics;
+        if (metrics != null) {
+            if (monotonic) {
+                metrics.recordAdvance(nanos);
+            } else {
+                metrics.recordSet();
+            }
+        }
+    }
+
+    /**
+     * Move the wall and monotonic times forward by the given amount, publishing the monotonic time first so that any
+     * thread that sees the new wall time also sees the new monotonic time. Must be called while holding the timer
+     * lock; the wall time is still updated with compare-and-set, since steps and sets do not take the lock.
+     */
+    private void advanceWhileLocked(long nanos) {
+        long offset = offset();
+        long current = epochNano;
+        long updated = Math.addExact(current, nanos);
+        MONOTONIC_NANO.getAndAdd(this, nanos);
+        while (!EPOCH_NANO.compareAndSet(this, current, updated)) {
+            current = epochNano;
+            try {
+                updated = Math.addExact(current, nanos);
+            } catch (ArithmeticException e) {
+                MONOTONIC_NANO.getAndAdd(this, -nanos);
+                throw e;
+            }
+        }
+        notifyListeners(current + offset, updated + offset);
+    }
+
+    private void recordSet() {
+        MetricsRecorder metrics = this.metrics;
+        if (metrics != null) {
+            metrics.recordSet();
+        }
+    }
+
+    /**
+     * Move to the given time, stopping at each timer deadline along the way so that timers run with the clock
+     * showing their scheduled time, and moving the monotonic time forward alongside if required. Must be called
+     * while holding the timer lock.
+     */
+    private void runTimersUntil(long target, boolean monotonic) {
+        long start = epochNano();
+        long deadline;
+        while ((deadline = nextTimerDeadline()) != Long.MAX_VALUE && deadline <= target) {
+            if (deadline > epochNano()) {
+                setWhileLocked(deadline, monotonic);
+            }
+            long now = epochNano();
+            for (TimerQueue timerQueue : timerQueues) {
+                timerQueue.expire(now);
+            }
+        }
+        long now = epochNano();
+        if (target >= now || now == start) {
+            setWhileLocked(target, monotonic);
+        }
+    }
+
+    private void setWhileLocked(long epochNano, boolean monotonic) {
+        long offset = offset();
+        long previous = this.epochNano + offset;
+        if (monotonic && epochNano > previous) {
+            MONOTONIC_NANO.getAndAdd(this, epochNano - previous);
+        }
+        EPOCH_NANO.lazySet(this, epochNano - offset);
+        notifyListeners(previous, epochNano);
+    }
+
+    private long offset() {
+        TickSequence ticks = this.ticks;
+        return ticks == null ? accelerationOffset() : accelerationOffset() + ticks.offset();
+    }
+
+    private long accelerationOffset() {
+        Acceleration acceleration = this.acceleration;
+        if (acceleration == null) {
+            return 0;
+        }
+        while (true) {
+            long offset = acceleration.offset(System.nanoTime());
+            if (!acceleration.isRetired()) {
+                return offset;
+            }
+            // The scale changed while reading; retry with the replacement once it is published
+            acceleration = this.acceleration;
+        }
+    }
+
+    private void notifyListeners(long previousEpochNano, long currentEpochNano) {
+        if (previousEpochNano != currentEpochNano) {
+            for (TimeChangeListener listener : listeners) {
+                listener.timeChanged(previousEpochNano, currentEpochNano);
+            }
+        }
+    }
+
+    private long nextTimerDeadline() {
+        long next = Long.MAX_VALUE;
+        for (TimerQueue timerQueue : timerQueues) {
+            next = Math.min(next, timerQueue.nextDeadline());
+        }
+        return next;
+    }
+}
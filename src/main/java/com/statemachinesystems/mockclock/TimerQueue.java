@@ -0,0 +1,34 @@
+package com.statemachinesystems.mockclock;
+
+/**
+ * Timers that become due as a {@link MockClock} moves forward.
+ * <p>
+ * When a queue is attached to a clock, every forward move of the clock stops at each deadline reported by
+ * {@link #nextDeadline()} and calls {@link #expire(long)} with the clock showing that time.
+ */
+interface TimerQueue {
+
+    /**
+     * Retrieve the earliest pending deadline.
+     *
+     * @return the earliest deadline in nanoseconds since the epoch, or {@link Long#MAX_VALUE} if nothing is pending
+     */
+    long nextDeadline();
+
+    /**
+     * Run every timer whose deadline is at or before the given time.
+     *
+     * @param epochNano  the clock's current time in nanoseconds since the epoch
+     */
+    void expire(long epochNano);
+
+    /**
+     * Report whether the owner of this queue captures and restores its timers together with the clock, so that
+     * {@link MockClock#restore(MockClock.Snapshot)} can move the clock without leaving them with stale deadlines.
+     *
+     * @return true if the queue's state is restored alongside the clock
+     */
+    default boolean isRestorable() {
+        return false;
+    }
+}
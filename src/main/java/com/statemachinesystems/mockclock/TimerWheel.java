@@ -0,0 +1,343 @@
+package com.statemachinesystems.mockclock;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hashed hierarchical timer wheel that expires timers in virtual time according to a {@link MockClock}.
+ * <p>
+ * Scheduling and cancelling a timer take constant time however many timers are pending, which suits simulations that
+ * register and cancel millions of timeouts. Timers are bucketed by tick: a timer fires at the first tick boundary at
+ * or after its deadline, together with every other timer in the same bucket, and the clock shows that tick's time
+ * while they run. Advancing the clock a long way jumps straight from one occupied bucket to the next.
+ * <p>
+ * Timers are identified by primitive ids rather than handle objects, and their bookkeeping lives in arrays whose
+ * entries are recycled once a timer fires or is cancelled, so scheduling does not allocate once the wheel has grown
+ * to the number of timers in use.
+ */
+public class TimerWheel {
+
+    private static final int BITS_PER_LEVEL = 6;
+    private static final int SLOTS_PER_LEVEL = 1 << BITS_PER_LEVEL;
+    private static final int SLOT_MASK = SLOTS_PER_LEVEL - 1;
+    private static final int LEVELS = (Long.SIZE + BITS_PER_LEVEL - 1) / BITS_PER_LEVEL;
+    private static final int NONE = -1;
+    private static final int INITIAL_CAPACITY = 64;
+    private static final Runnable[] NO_TASKS = new Runnable[0];
+
+    private final MockClock clock;
+    private final long tickNanos;
+    private long originEpochNano;
+    private final Object lock = new Object();
+
+    private final int[] slotHeads = new int[LEVELS * SLOTS_PER_LEVEL];
+    private final long[] occupiedSlots = new long[LEVELS];
+    private long currentTick;
+
+    private long[] expiryTicks = new long[INITIAL_CAPACITY];
+    private int[] nextTimers = new int[INITIAL_CAPACITY];
+    private int[] previousTimers = new int[INITIAL_CAPACITY];
+    private int[] timerSlots = new int[INITIAL_CAPACITY];
+    private int[] generations = new int[INITIAL_CAPACITY];
+    private Runnable[] tasks = new Runnable[INITIAL_CAPACITY];
+    private int freeTimers;
+    private int size;
+
+    /**
+     * Construct a {@link TimerWheel} with a tick of one millisecond, whose timers expire as the given clock moves
+     * forward.
+     *
+     * @param clock  the clock to use
+     */
+    public TimerWheel(MockClock clock) {
+        this(clock, 1, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Construct a {@link TimerWheel} with the given tick, whose timers expire as the given clock moves forward.
+     *
+     * @param clock  the clock to use
+     * @param tickDuration  the resolution of the wheel
+     * @param unit  the unit of the tick duration
+     */
+    public TimerWheel(MockClock clock, long tickDuration, TimeUnit unit) {
+        Objects.requireNonNull(clock, "clock");
+        Objects.requireNonNull(unit, "unit");
+        if (tickDuration <= 0) {
+            throw new IllegalArgumentException("tickDuration must be positive");
+        }
+        this.clock = clock;
+        this.tickNanos = unit.toNanos(tickDuration);
+        this.originEpochNano = clock.epochNano();
+        Arrays.fill(slotHeads, NONE);
+        linkFreeTimers(0, INITIAL_CAPACITY);
+        freeTimers = 0;
+        clock.attach(new Wheel());
+    }
+
+    /**
+     * Schedule a task to run once the given delay has elapsed on the clock.
+     *
+     * @param task  the task to run
+     * @param delay  the delay after which to run the task
+     * @param unit  the unit of the delay
+     * @return an id that can be passed to {@link #cancel(long)}
+     */
+    public long schedule(Runnable task, long delay, TimeUnit unit) {
+        Objects.requireNonNull(task, "task");
+        Objects.requireNonNull(unit, "unit");
+        long now = clock.epochNano();
+        long deadline = now + Math.max(0, unit.toNanos(delay));
+        if (deadline < now) {
+            deadline = Long.MAX_VALUE;
+        }
+        synchronized (lock) {
+            if (Math.floorDiv(saturatedSubtract(now, originEpochNano), tickNanos) < currentTick) {
+                rewind(now);
+            }
+            long elapsed = saturatedSubtract(deadline, originEpochNano);
+            long tick = elapsed <= 0 ? 0 : (elapsed - 1) / tickNanos + 1;
+            int timer = allocate();
+            tasks[timer] = task;
+            expiryTicks[timer] = Math.max(tick, currentTick);
+            insert(timer);
+            size++;
+            return ((long) generations[timer] << Integer.SIZE) | timer;
+        }
+    }
+
+    /**
+     * Cancel a pending timer.
+     *
+     * @param timerId  the id returned when the timer was scheduled
+     * @return true if the timer was pending and has been cancelled, false if it had already fired or been cancelled
+     */
+    public boolean cancel(long timerId) {
+        int timer = (int) timerId;
+        int generation = (int) (timerId >>> Integer.SIZE);
+        synchronized (lock) {
+            if (timer < 0 || timer >= tasks.length || generations[timer] != generation || tasks[timer] == null) {
+                return false;
+            }
+            unlink(timer);
+            release(timer);
+            return true;
+        }
+    }
+
+    /**
+     * Retrieve the number of timers that have been scheduled but have neither fired nor been cancelled.
+     *
+     * @return the number of pending timers
+     */
+    public int pendingTimers() {
+        synchronized (lock) {
+            return size;
+        }
+    }
+
+    private long nextEventTick() {
+        for (int level = 0; level < LEVELS; level++) {
+            int shift = level * BITS_PER_LEVEL;
+            int currentSlot = (int) (currentTick >>> shift) & SLOT_MASK;
+            long candidates;
+            if (level == 0) {
+                candidates = occupiedSlots[0] & (-1L << currentSlot);
+            } else {
+                candidates = currentSlot == SLOT_MASK ? 0 : occupiedSlots[level] & (-1L << (currentSlot + 1));
+            }
+            if (candidates != 0) {
+                long slot = Long.numberOfTrailingZeros(candidates);
+                int parentShift = shift + BITS_PER_LEVEL;
+                long parent = parentShift >= Long.SIZE ? 0 : (currentTick >>> parentShift) << parentShift;
+                return parent | (slot << shift);
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+
+    /**
+     * Bring the wheel back to the given time after the clock has been set backwards, so that new timers are not held
+     * back until the clock regains the time the wheel had reached. If the time is before the wheel's origin, the origin
+     * moves back by a whole number of ticks, keeping pending timers aligned to their ticks. Every pending timer is
+     * then reinserted relative to the new current tick, which takes time proportional to the number of timers, but
+     * only when the clock has gone backwards.
+     */
+    private void rewind(long epochNano) {
+        if (epochNano < originEpochNano) {
+            long shift = (saturatedSubtract(originEpochNano, epochNano) - 1) / tickNanos + 1;
+            originEpochNano -= shift * tickNanos;
+            for (int timer = 0; timer < tasks.length; timer++) {
+                if (tasks[timer] != null) {
+                    expiryTicks[timer] = saturatedAdd(expiryTicks[timer], shift);
+                }
+            }
+        }
+        currentTick = saturatedSubtract(epochNano, originEpochNano) / tickNanos;
+        Arrays.fill(slotHeads, NONE);
+        Arrays.fill(occupiedSlots, 0);
+        for (int timer = 0; timer < tasks.length; timer++) {
+            if (tasks[timer] != null) {
+                insert(timer);
+            }
+        }
+    }
+
+    private void insert(int timer) {
+        long expiryTick = expiryTicks[timer];
+        long difference = expiryTick ^ currentTick;
+        int level = difference == 0 ? 0 : (Long.SIZE - 1 - Long.numberOfLeadingZeros(difference)) / BITS_PER_LEVEL;
+        int slot = (int) (expiryTick >>> (level * BITS_PER_LEVEL)) & SLOT_MASK;
+        int index = level * SLOTS_PER_LEVEL + slot;
+        int head = slotHeads[index];
+        timerSlots[timer] = index;
+        previousTimers[timer] = NONE;
+        nextTimers[timer] = head;
+        if (head != NONE) {
+            previousTimers[head] = timer;
+        }
+        slotHeads[index] = timer;
+        occupiedSlots[level] |= 1L << slot;
+    }
+
+    private void unlink(int timer) {
+        int previous = previousTimers[timer];
+        int next = nextTimers[timer];
+        if (previous == NONE) {
+            int index = timerSlots[timer];
+            slotHeads[index] = next;
+            if (next == NONE) {
+                occupiedSlots[index / SLOTS_PER_LEVEL] &= ~(1L << (index & SLOT_MASK));
+            }
+        } else {
+            nextTimers[previous] = next;
+        }
+        if (next != NONE) {
+            previousTimers[next] = previous;
+        }
+    }
+
+    private int detachSlot(int index) {
+        int head = slotHeads[index];
+        slotHeads[index] = NONE;
+        occupiedSlots[index / SLOTS_PER_LEVEL] &= ~(1L << (index & SLOT_MASK));
+        return head;
+    }
+
+    private int allocate() {
+        if (freeTimers == NONE) {
+            grow();
+        }
+        int timer = freeTimers;
+        freeTimers = nextTimers[timer];
+        return timer;
+    }
+
+    private void release(int timer) {
+        tasks[timer] = null;
+        generations[timer]++;
+        nextTimers[timer] = freeTimers;
+        freeTimers = timer;
+        size--;
+    }
+
+    private void grow() {
+        int capacity = tasks.length;
+        int newCapacity = capacity * 2;
+        expiryTicks = Arrays.copyOf(expiryTicks, newCapacity);
+        nextTimers = Arrays.copyOf(nextTimers, newCapacity);
+        previousTimers = Arrays.copyOf(previousTimers, newCapacity);
+        timerSlots = Arrays.copyOf(timerSlots, newCapacity);
+        generations = Arrays.copyOf(generations, newCapacity);
+        tasks = Arrays.copyOf(tasks, newCapacity);
+        linkFreeTimers(capacity, newCapacity);
+        freeTimers = capacity;
+    }
+
+    private void linkFreeTimers(int from, int to) {
+        for (int timer = from; timer < to - 1; timer++) {
+            nextTimers[timer] = timer + 1;
+        }
+        nextTimers[to - 1] = NONE;
+    }
+
+    private static long saturatedAdd(long a, long b) {
+        long sum = a + b;
+        return ((a ^ sum) & (b ^ sum)) < 0 ? Long.MAX_VALUE : sum;
+    }
+
+    private static long saturatedSubtract(long a, long b) {
+        long difference = a - b;
+        if (((a ^ b) & (a ^ difference)) < 0) {
+            return a < 0 ? Long.MIN_VALUE : Long.MAX_VALUE;
+        }
+        return difference;
+    }
+
+    private final class Wheel implements TimerQueue {
+
+        @Override
+        public long nextDeadline() {
+            synchronized (lock) {
+                long tick = nextEventTick();
+                if (tick > Long.MAX_VALUE / tickNanos) {
+                    return Long.MAX_VALUE;
+                }
+                long deadline = originEpochNano + tick * tickNanos;
+                return deadline < originEpochNano ? Long.MAX_VALUE : deadline;
+            }
+        }
+
+        @Override
+        public void expire(long epochNano) {
+            while (true) {
+                Runnable[] expired;
+                synchronized (lock) {
+                    long targetTick = Math.floorDiv(saturatedSubtract(epochNano, originEpochNano), tickNanos);
+                    long tick = nextEventTick();
+                    if (tick > targetTick) {
+                        return;
+                    }
+                    currentTick = tick;
+                    expired = expireOrCascade();
+                }
+                for (Runnable task : expired) {
+                    task.run();
+                }
+            }
+        }
+
+        private Runnable[] expireOrCascade() {
+            int levelZeroIndex = (int) currentTick & SLOT_MASK;
+            if ((occupiedSlots[0] & (1L << levelZeroIndex)) != 0) {
+                int count = 0;
+                for (int timer = slotHeads[levelZeroIndex]; timer != NONE; timer = nextTimers[timer]) {
+                    count++;
+                }
+                Runnable[] expired = new Runnable[count];
+                int timer = detachSlot(levelZeroIndex);
+                for (int i = 0; i < count; i++) {
+                    int next = nextTimers[timer];
+                    expired[i] = tasks[timer];
+                    release(timer);
+                    timer = next;
+                }
+                return expired;
+            }
+            for (int level = 1; level < LEVELS; level++) {
+                int shift = level * BITS_PER_LEVEL;
+                int index = level * SLOTS_PER_LEVEL + ((int) (currentTick >>> shift) & SLOT_MASK);
+                if (slotHeads[index] != NONE && (currentTick & ((1L << shift) - 1)) == 0) {
+                    int timer = detachSlot(index);
+                    while (timer != NONE) {
+                        int next = nextTimers[timer];
+                        insert(timer);
+                        timer = next;
+                    }
+                }
+            }
+            return NO_TASKS;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.statemachinesystems.mockclock;
+
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+import static com.statemachinesystems.mockclock.TestClocks.START;
+import static com.statemachinesystems.mockclock.TestClocks.UTC;
+import static com.statemachinesystems.mockclock.TestClocks.startClock;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class ClockGroupTest {
+
+    private final MockClock master = startClock();
+    private final ClockGroup group = new ClockGroup(master);
+
+    @Test
+    public void nodeWithoutSkewShowsMasterTime() {
+        ClockGroup.Node node = group.node();
+
+        master.advanceBySeconds(10);
+
+        assertThat(node.instant(), is(START.plusSeconds(10)));
+        assertThat(node.getZone(), is(UTC));
+    }
+
+    @Test
+    public void nodeShowsMasterTimePlusOffset() {
+        ClockGroup.Node node = group.node(Duration.ofMillis(-250), 0);
+
+        assertThat(node.instant(), is(START.minusMillis(250)));
+        assertThat(node.millis(), is(START.minusMillis(250).toEpochMilli()));
+    }
+
+    @Test
+    public void driftAccumulatesWithMasterTime() {
+        ClockGroup.Node fast = group.node(Duration.ZERO, 100);
+        ClockGroup.Node slow = group.node(Duration.ZERO, -50);
+
+        master.advanceBySeconds(1000);
+
+        assertThat(fast.instant(), is(START.plusSeconds(1000).plusMillis(100)));
+        assertThat(slow.instant(), is(START.plusSeconds(1000).minusMillis(50)));
+        assertThat(fast.offset(), is(Duration.ofMillis(100)));
+    }
+
+    @Test
+    public void changingDriftRetainsAccumulatedOffset() {
+        ClockGroup.Node node = group.node(Duration.ZERO, 1000);
+        master.advanceBySeconds(10);
+
+        node.setDriftPpm(0);
+        master.advanceBySeconds(10);
+
+        assertThat(node.instant(), is(START.plusSeconds(20).plusMillis(10)));
+        assertThat(node.driftPpm(), is(0.0));
+    }
+
+    @Test
+    public void settingOffsetDiscardsAccumulatedDrift() {
+        ClockGroup.Node node = group.node(Duration.ZERO, 1000);
+        master.advanceBySeconds(10);
+
+        node.setOffset(Duration.ofSeconds(1));
+
+        assertThat(node.instant(), is(START.plusSeconds(11)));
+        master.advanceBySeconds(1);
+        assertThat(node.instant(), is(START.plusSeconds(12).plusMillis(1)));
+    }
+
+    @Test
+    public void oneAdvanceMovesEveryNode() {
+        List<ClockGroup.Node> nodes = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            nodes.add(group.node(Duration.ofNanos(i), 0));
+        }
+
+        master.advanceByMinutes(1);
+
+        for (int i = 0; i < nodes.size(); i++) {
+            assertThat(nodes.get(i).instant(), is(START.plusSeconds(60).plusNanos(i)));
+        }
+    }
+
+    @Test
+    public void zoneViewSharesSkew() {
+        ClockGroup.Node node = group.node(Duration.ofSeconds(5), 0);
+        ClockGroup.Node view = node.withZone(ZoneId.of("Asia/Tokyo"));
+
+        node.setOffset(Duration.ofSeconds(7));
+
+        assertThat(view.instant(), is(START.plusSeconds(7)));
+        assertThat(view.getZone(), is(ZoneId.of("Asia/Tokyo")));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void driftThatWouldRunClockBackwardsIsRejected() {
+        group.node(Duration.ZERO, -1_000_000);
+    }
+}
@@ -0,0 +1,104 @@
+package com.statemachinesystems.mockclock;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.junit.Test;
+
+import static com.statemachinesystems.mockclock.TestClocks.START;
+import static com.statemachinesystems.mockclock.TestClocks.startClock;
+import static java.util.Arrays.asList;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class InstantRangeTest {
+
+    @Test
+    public void rangeExcludesEnd() {
+        InstantRange range = InstantRange.of(START, START.plusSeconds(30), Duration.ofSeconds(10));
+
+        assertThat(instants(range), is(asList(START, START.plusSeconds(10), START.plusSeconds(20))));
+        assertThat(range.size(), is(3L));
+    }
+
+    @Test
+    public void partialFinalStepIsIncluded() {
+        InstantRange range = InstantRange.of(START, START.plusSeconds(25), Duration.ofSeconds(10));
+
+        assertThat(instants(range), is(asList(START, START.plusSeconds(10), START.plusSeconds(20))));
+    }
+
+    @Test
+    public void rangeWithEndBeforeStartIsEmpty() {
+        InstantRange range = InstantRange.of(START, START.minusSeconds(1), Duration.ofSeconds(1));
+
+        assertThat(range.size(), is(0L));
+        assertThat(range.epochNanos().count(), is(0L));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void zeroStepIsRejected() {
+        InstantRange.of(START, START.plusSeconds(1), Duration.ZERO);
+    }
+
+    @Test
+    public void spliteratorSplitsEvenly() {
+        InstantRange range = InstantRange.of(START, START.plus(Duration.ofDays(365)), Duration.ofMinutes(1));
+        Spliterator.OfLong suffix = range.epochNanos().spliterator();
+
+        Spliterator.OfLong prefix = suffix.trySplit();
+
+        assertThat(prefix.estimateSize(), is(range.size() / 2));
+        assertThat(suffix.estimateSize(), is(range.size() / 2));
+        assertThat(suffix.hasCharacteristics(Spliterator.SUBSIZED), is(true));
+        assertThat(prefix.getComparator(), is(nullValue()));
+    }
+
+    @Test
+    public void parallelStreamMatchesSequentialStream() {
+        InstantRange range = InstantRange.of(START, START.plus(Duration.ofDays(365)), Duration.ofMinutes(1));
+
+        long sequential = range.epochNanos().map(epochNano -> epochNano / 60_000_000_000L % 1_440).sum();
+        long parallel = range.epochNanos().parallel().map(epochNano -> epochNano / 60_000_000_000L % 1_440).sum();
+
+        assertThat(parallel, is(sequential));
+        assertThat(range.epochNanos().parallel().count(), is(365L * 1_440));
+    }
+
+    @Test
+    public void driveSetsClockToEachInstant() {
+        MockClock clock = startClock();
+        List<Instant> seen = new ArrayList<>();
+
+        InstantRange.of(START, START.plusSeconds(3), Duration.ofSeconds(1)).drive(clock, epochNano -> {
+            assertThat(clock.epochNano(), is(epochNano));
+            seen.add(clock.instant());
+        });
+
+        assertThat(seen, is(asList(START, START.plusSeconds(1), START.plusSeconds(2))));
+    }
+
+    @Test
+    public void driveRunsTimersAsClockMoves() {
+        MockClock clock = startClock();
+        MockScheduledExecutorService executor = new MockScheduledExecutorService(clock);
+        List<Instant> runTimes = new ArrayList<>();
+        executor.schedule(() -> runTimes.add(clock.instant()), 1500, TimeUnit.MILLISECONDS);
+        List<Integer> timersRunAtEachInstant = new ArrayList<>();
+
+        InstantRange.of(START, START.plusSeconds(3), Duration.ofSeconds(1))
+                .drive(clock, epochNano -> timersRunAtEachInstant.add(runTimes.size()));
+
+        assertThat(timersRunAtEachInstant, is(asList(0, 0, 1)));
+        assertThat(runTimes, is(asList(START.plusMillis(1500))));
+    }
+
+    private static List<Instant> instants(InstantRange range) {
+        return range.epochNanos().mapToObj(MockClock::toInstant).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,117 @@
+package com.statemachinesystems.mockclock;
+
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+import static com.statemachinesystems.mockclock.TestClocks.START;
+import static com.statemachinesystems.mockclock.TestClocks.startClock;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class MockClockMetricsTest {
+
+    private final MockClock clock = startClock();
+
+    @Test
+    public void nothingIsCountedWhileDisabled() {
+        clock.instant();
+        clock.advanceBySeconds(1);
+        clock.set(START);
+
+        MockClockMetrics metrics = clock.metrics();
+
+        assertThat(metrics.reads(), is(0L));
+        assertThat(metrics.sets(), is(0L));
+        assertThat(metrics.advances(), is(0L));
+    }
+
+    @Test
+    public void readsSetsAndAdvancesAreCounted() {
+        clock.enableMetrics();
+
+        clock.instant();
+        clock.millis();
+        clock.epochNano();
+        clock.set(START);
+        clock.setHour(3);
+        clock.stepBy(Duration.ofSeconds(1));
+        clock.advanceBySeconds(10);
+        clock.advanceByMillis(500);
+
+        MockClockMetrics metrics = clock.metrics();
+        assertThat(metrics.reads(), is(2L));
+        assertThat(metrics.sets(), is(3L));
+        assertThat(metrics.advances(), is(2L));
+        assertThat(metrics.timeAdvanced(), is(Duration.ofMillis(10_500)));
+    }
+
+    @Test
+    public void advancesThatOverflowAreNotCounted() {
+        clock.enableMetrics();
+
+        try {
+            clock.advanceByNanos(Long.MAX_VALUE);
+        } catch (ArithmeticException expected) {
+            // the clock cannot represent the result
+        }
+
+        assertThat(clock.metrics().advances(), is(0L));
+        assertThat(clock.metrics().timeAdvanced(), is(Duration.ZERO));
+    }
+
+    @Test
+    public void zoneViewsShareCounts() {
+        clock.enableMetrics();
+
+        clock.withZone(ZoneId.of("Asia/Tokyo")).instant();
+
+        assertThat(clock.metrics().reads(), is(1L));
+    }
+
+    @Test
+    public void enablingMetricsResetsCounts() {
+        clock.enableMetrics();
+        clock.instant();
+
+        clock.enableMetrics();
+
+        assertThat(clock.metrics().reads(), is(0L));
+    }
+
+    @Test
+    public void disablingMetricsDiscardsCounts() {
+        clock.enableMetrics();
+        clock.instant();
+
+        clock.disableMetrics();
+        clock.instant();
+
+        assertThat(clock.metrics().reads(), is(0L));
+    }
+
+    @Test
+    public void concurrentReadsAreAllCounted() throws InterruptedException {
+        clock.enableMetrics();
+        int threadCount = 4;
+        int readsPerThread = 10_000;
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < threadCount; i++) {
+            Thread thread = new Thread(() -> {
+                for (int j = 0; j < readsPerThread; j++) {
+                    clock.millis();
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(clock.metrics().reads(), is((long) threadCount * readsPerThread));
+    }
+}
@@ -8,12 +8,23 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.Month;
 import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
 import org.junit.Test;
 
 import static java.time.Month.*;
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
 
 public class MockClockTest {
 
@@ -456,6 +467,166 @@ public class MockClockTest {
         assertClockInstant(mockClock, adjustedInstant);
     }
 
+    @Test
+    public void advanceByTimeUnit() {
+        MockClock mockClock = MockClock.at(DATE_TIME_INSTANT, UTC);
+
+        mockClock.advanceBy(90, TimeUnit.MINUTES);
+
+        assertClockInstant(mockClock, DATE_TIME_INSTANT.plus(Duration.ofMinutes(90)));
+    }
+
+    @Test
+    public void advanceBySecondsAcceptsLongAmount() {
+        MockClock mockClock = MockClock.at(DATE_TIME_INSTANT, UTC);
+        long seconds = Integer.MAX_VALUE + 10L;
+
+        mockClock.advanceBySeconds(seconds);
+
+        assertClockInstant(mockClock, DATE_TIME_INSTANT.plusSeconds(seconds));
+    }
+
+    @Test
+    public void advanceByDaysAcrossDaylightSavingChangeMatchesDuration() {
+        ZoneId london = ZoneId.of("Europe/London");
+        Instant beforeChange = ZonedDateTime.of(2016, 3, 26, 12, 0, 0, 0, london).toInstant();
+        MockClock mockClock = MockClock.at(beforeChange, london);
+
+        mockClock.advanceByDays(1);
+
+        assertClockInstant(mockClock, ZonedDateTime.ofInstant(beforeChange, london).plus(Duration.ofDays(1))
+                .toInstant(), london);
+        assertThat(mockClock.toZonedDateTime().getHour(), is(13));
+    }
+
+    @Test
+    public void millisMatchInstant() {
+        MockClock mockClock = MockClock.at(DATE_TIME_INSTANT, UTC);
+
+        assertThat(mockClock.millis(), is(DATE_TIME_INSTANT.toEpochMilli()));
+    }
+
+    @Test
+    public void epochSecondAndNanoMatchInstant() {
+        MockClock mockClock = MockClock.at(DATE_TIME_INSTANT, UTC);
+
+        assertThat(mockClock.epochSecond(), is(DATE_TIME_INSTANT.getEpochSecond()));
+        assertThat(mockClock.epochNano(),
+                is(DATE_TIME_INSTANT.getEpochSecond() * 1_000_000_000L + DATE_TIME_INSTANT.getNano()));
+    }
+
+    @Test
+    public void instantBeforeEpochIsPreserved() {
+        Instant instant = Instant.parse("1969-12-31T23:59:59.999999999Z");
+        MockClock mockClock = MockClock.at(instant, UTC);
+
+        assertClockInstant(mockClock, instant);
+        assertThat(mockClock.epochSecond(), is(-1L));
+        assertThat(mockClock.millis(), is(-1L));
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void instantOutsideSupportedRangeIsRejected() {
+        MockClock.at(Instant.parse("2262-04-11T23:47:16.854775808Z"), UTC);
+    }
+
+    @Test
+    public void concurrentAdvancesAreNotLost() throws InterruptedException {
+        MockClock mockClock = MockClock.at(DATE_TIME_INSTANT, UTC);
+        int threadCount = 4;
+        int advancesPerThread = 10_000;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < threadCount; i++) {
+            Thread thread = new Thread(() -> {
+                awaitUninterruptibly(start);
+                for (int j = 0; j < advancesPerThread; j++) {
+                    mockClock.advanceBy(Duration.ofNanos(1));
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertClockInstant(mockClock, DATE_TIME_INSTANT.plusNanos(threadCount * advancesPerThread));
+    }
+
+    @Test
+    public void advanceIsVisibleToOtherThreads() throws InterruptedException {
+        MockClock mockClock = MockClock.at(DATE_TIME_INSTANT, UTC);
+        Instant expected = DATE_TIME_INSTANT.plusSeconds(30);
+        Thread reader = new Thread(() -> {
+            while (mockClock.instant().isBefore(expected)) {
+                Thread.yield();
+            }
+        });
+        reader.start();
+
+        mockClock.advanceBy(Duration.ofSeconds(30));
+        reader.join(10_000);
+
+        assertThat(reader.isAlive(), is(false));
+    }
+
+    @Test
+    public void tickerIsNeverBehindWallTimeDuringConcurrentAdvances() throws InterruptedException {
+        MockClock mockClock = MockClock.at(DATE_TIME_INSTANT, UTC);
+        long startEpochNano = mockClock.epochNano();
+        long startMonotonicNano = mockClock.ticker().read();
+        int advances = 200_000;
+        AtomicInteger laggingReads = new AtomicInteger();
+        AtomicBoolean done = new AtomicBoolean();
+        Thread reader = new Thread(() -> {
+            while (!done.get()) {
+                long wallElapsed = mockClock.epochNano() - startEpochNano;
+                long monotonicElapsed = mockClock.ticker().read() - startMonotonicNano;
+                if (monotonicElapsed < wallElapsed) {
+                    laggingReads.incrementAndGet();
+                }
+            }
+        });
+        reader.start();
+
+        for (int i = 0; i < advances; i++) {
+            mockClock.advanceByNanos(1);
+        }
+        done.set(true);
+        reader.join();
+
+        assertThat(laggingReads.get(), is(0));
+    }
+
+    @Test
+    public void snapshotIsConsistentDuringConcurrentAdvances() throws InterruptedException {
+        MockClock mockClock = MockClock.at(DATE_TIME_INSTANT, UTC);
+        long difference = mockClock.epochNano() - mockClock.ticker().read();
+        int advances = 200_000;
+        AtomicInteger tornSnapshots = new AtomicInteger();
+        AtomicBoolean done = new AtomicBoolean();
+        Thread reader = new Thread(() -> {
+            while (!done.get()) {
+                MockClock.Snapshot snapshot = mockClock.snapshot();
+                if (snapshot.epochNano() - snapshot.monotonicNano() != difference) {
+                    tornSnapshots.incrementAndGet();
+                }
+            }
+        });
+        reader.start();
+
+        for (int i = 0; i < advances; i++) {
+            mockClock.advanceByNanos(1);
+        }
+        done.set(true);
+        reader.join();
+
+        assertThat(tornSnapshots.get(), is(0));
+    }
+
     @Test
     public void withZoneCopyHasSameInstantButDifferentZone() {
         MockClock mockClock = MockClock.at(DATE_TIME_INSTANT, UTC);
@@ -466,6 +637,518 @@ public class MockClockTest {
         assertClockInstant(copied, DATE_TIME_INSTANT, cet);
     }
 
+    @Test
+    public void withZoneViewSharesTimeline() {
+        MockClock mockClock = MockClock.at(DATE_TIME_INSTANT, UTC);
+        MockClock view = mockClock.withZone(ZoneId.of("CET"));
+
+        mockClock.advanceByHours(1);
+        assertThat(view.instant(), is(DATE_TIME_INSTANT.plusSeconds(3600)));
+
+        view.advanceByHours(1);
+        assertThat(mockClock.instant(), is(DATE_TIME_INSTANT.plusSeconds(7200)));
+    }
+
+    @Test
+    public void withZoneViewsAreCached() {
+        MockClock mockClock = MockClock.at(DATE_TIME_INSTANT, UTC);
+        ZoneId cet = ZoneId.of("CET");
+
+        assertThat(mockClock.withZone(cet) == mockClock.withZone(cet), is(true));
+        assertThat(mockClock.withZone(cet).withZone(UTC) == mockClock, is(true));
+    }
+
+    @Test
+    public void listenerIsNotifiedOfSetAndAdvance() {
+        MockClock mockClock = MockClock.at(DATE_TIME_INSTANT, UTC);
+        List<Long> changes = new ArrayList<>();
+        long start = mockClock.epochNano();
+        mockClock.addListener((previous, current) -> {
+            changes.add(previous);
+            changes.add(current);
+        });
+
+        mockClock.advanceByNanos(5);
+        mockClock.set(DATE_TIME_INSTANT);
+        mockClock.setNano(NANO_OF_SECOND + 1);
+
+        assertThat(changes, is(Arrays.asList(start, start + 5, start + 5, start, start, start + 1)));
+    }
+
+    @Test
+    public void listenerIsNotNotifiedWhenTimeIsUnchanged() {
+        MockClock mockClock = MockClock.at(DATE_TIME_INSTANT, UTC);
+        List<Long> changes = new ArrayList<>();
+        mockClock.addListener((previous, current) -> changes.add(current));
+
+        mockClock.set(DATE_TIME_INSTANT);
+        mockClock.advanceByNanos(0);
+
+        assertThat(changes.isEmpty(), is(true));
+    }
+
+    @Test
+    public void listenerIsNotifiedOfChangesMadeThroughZoneView() {
+        MockClock mockClock = MockClock.at(DATE_TIME_INSTANT, UTC);
+        List<Long> changes = new ArrayList<>();
+        mockClock.addListener((previous, current) -> changes.add(current - previous));
+
+        mockClock.withZone(ZoneId.of("CET")).advanceBySeconds(1);
+
+        assertThat(changes, is(Arrays.asList(1_000_000_000L)));
+    }
+
+    @Test
+    public void removedListenerIsNotNotified() {
+        MockClock mockClock = MockClock.at(DATE_TIME_INSTANT, UTC);
+        List<Long> changes = new ArrayList<>();
+        TimeChangeListener listener = (previous, current) -> changes.add(current);
+        mockClock.addListener(listener);
+
+        mockClock.removeListener(listener);
+        mockClock.advanceBySeconds(1);
+
+        assertThat(changes.isEmpty(), is(true));
+    }
+
+    @Test
+    public void tickOnReadMovesClockAfterEachRead() {
+        MockClock mockClock = MockClock.at(DATE_TIME_INSTANT, UTC).tickOnRead(Duration.ofMillis(1));
+
+        assertThat(mockClock.instant(), is(DATE_TIME_INSTANT));
+        assertThat(mockClock.instant(), is(DATE_TIME_INSTANT.plusMillis(1)));
+        assertThat(mockClock.millis(), is(DATE_TIME_INSTANT.plusMillis(2).toEpochMilli()));
+        assertThat(mockClock.epochNano(), is(MockClock.at(DATE_TIME_INSTANT.plusMillis(3), UTC).epochNano()));
+    }
+
+    @Test
+    public void tickOnReadCyclesThroughSequence() {
+        MockClock mockClock = MockClock.at(DATE_TIME_INSTANT, UTC)
+                .tickOnRead(Arrays.asList(Duration.ofNanos(1), Duration.ofNanos(10)));
+
+        List<Instant> instants = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            instants.add(mockClock.instant());
+        }
+
+        assertThat(instants, is(Arrays.asList(DATE_TIME_INSTANT, DATE_TIME_INSTANT.plusNanos(1),
+                DATE_TIME_INSTANT.plusNanos(11), DATE_TIME_INSTANT.plusNanos(12), DATE_TIME_INSTANT.plusNanos(22))));
+    }
+
+    @Test
+    public void explicitMovesApplyOnTopOfTicks() {
+        MockClock mockClock = MockClock.at(DATE_TIME_INSTANT, UTC).tickOnRead(Duration.ofSeconds(1));
+        mockClock.instant();
+
+        mockClock.advanceBySeconds(10);
+        assertThat(mockClock.instant(), is(DATE_TIME_INSTANT.plusSeconds(11)));
+
+        mockClock.set(DATE_ONLY_INSTANT);
+        assertThat(mockClock.instant(), is(DATE_ONLY_INSTANT));
+        assertThat(mockClock.instant(), is(DATE_ONLY_INSTANT.plusSeconds(1)));
+    }
+
+    @Test
+    public void stopTickOnReadRetainsTicks() {
+        MockClock mockClock = MockClock.at(DATE_TIME_INSTANT, UTC).tickOnRead(Duration.ofSeconds(1));
+        mockClock.instant();
+        mockClock.instant();
+
+        mockClock.stopTickOnRead();
+
+        assertClockInstant(mockClock, DATE_TIME_INSTANT.plusSeconds(2));
+        assertClockInstant(mockClock, DATE_TIME_INSTANT.plusSeconds(2));
+    }
+
+    @Test
+    public void concurrentReadersObserveDistinctReproducibleInstants() throws InterruptedException {
+        MockClock mockClock = MockClock.at(DATE_TIME_INSTANT, UTC)
+                .tickOnRead(Arrays.asList(Duration.ofNanos(1), Duration.ofNanos(2), Duration.ofNanos(3)));
+        int threadCount = 4;
+        int readsPerThread = 10_000;
+        long[][] reads = new long[threadCount][readsPerThread];
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < threadCount; i++) {
+            long[] threadReads = reads[i];
+            Thread thread = new Thread(() -> {
+                awaitUninterruptibly(start);
+                for (int j = 0; j < readsPerThread; j++) {
+                    Instant instant = mockClock.instant();
+                    threadReads[j] = Duration.between(DATE_TIME_INSTANT, instant).toNanos();
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        long[] observed = Arrays.stream(reads).flatMapToLong(Arrays::stream).sorted().toArray();
+        long expected = 0;
+        for (int i = 0; i < observed.length; i++) {
+            assertThat(observed[i], is(expected));
+            expected += i % 3 + 1;
+        }
+    }
+
+    @Test
+    public void ticksDoNotNotifyListeners() {
+        MockClock mockClock = MockClock.at(DATE_TIME_INSTANT, UTC).tickOnRead(Duration.ofSeconds(1));
+        List<Long> changes = new ArrayList<>();
+        mockClock.addListener((previous, current) -> changes.add(current - previous));
+
+        mockClock.instant();
+
+        assertThat(changes.isEmpty(), is(true));
+    }
+
+    @Test(timeout = 30_000)
+    public void concurrentReadsNeverGoBackwardsWhileTickSequenceChanges() throws InterruptedException {
+        MockClock mockClock = MockClock.at(DATE_TIME_INSTANT, UTC);
+
+        int backwardReads = countBackwardReadsWhile(mockClock, i -> {
+            if (i % 2 == 0) {
+                mockClock.tickOnRead(Duration.ofMillis(1 + i % 3));
+            } else {
+                mockClock.stopTickOnRead();
+            }
+        });
+
+        assertThat(backwardReads, is(0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeTickIsRejected() {
+        MockClock.at(DATE_TIME_INSTANT, UTC).tickOnRead(Duration.ofSeconds(-1));
+    }
+
+    @Test
+    public void acceleratedClockPassesTimeAtScale() throws InterruptedException {
+        long realStart = System.nanoTime();
+        MockClock mockClock = MockClock.accelerated(DATE_TIME_INSTANT, UTC, 3600);
+
+        Thread.sleep(10);
+        Instant instant = mockClock.instant();
+        long realElapsed = System.nanoTime() - realStart;
+
+        assertThat(instant.isBefore(DATE_TIME_INSTANT.plusSeconds(36)), is(false));
+        assertThat(instant.isAfter(DATE_TIME_INSTANT.plusNanos(realElapsed * 3600)), is(false));
+    }
+
+    @Test
+    public void acceleratedClockIsMonotonic() {
+        MockClock mockClock = MockClock.accelerated(DATE_TIME_INSTANT, UTC, 60);
+
+        long previous = mockClock.epochNano();
+        for (int i = 0; i < 100_000; i++) {
+            if (i % 10_000 == 0) {
+                mockClock.setScale(i % 20_000 == 0 ? 3600 : 0.5);
+            }
+            long current = mockClock.epochNano();
+            assertThat(current >= previous, is(true));
+            previous = current;
+        }
+    }
+
+    @Test(timeout = 30_000)
+    public void concurrentReadsNeverGoBackwardsWhileScaleChanges() throws InterruptedException {
+        MockClock mockClock = MockClock.at(DATE_TIME_INSTANT, UTC);
+
+        int backwardReads = countBackwardReadsWhile(mockClock, i -> mockClock.setScale(i % 2 == 0 ? 3600 : 0));
+
+        assertThat(backwardReads, is(0));
+    }
+
+    @Test
+    public void explicitMovesApplyOnTopOfAcceleration() {
+        MockClock mockClock = MockClock.accelerated(DATE_TIME_INSTANT, UTC, 2);
+
+        mockClock.advanceByDays(1);
+        Instant advanced = mockClock.instant();
+        mockClock.set(DATE_ONLY_INSTANT);
+        Instant set = mockClock.instant();
+
+        assertThat(advanced.isBefore(DATE_TIME_INSTANT.plus(Duration.ofDays(1))), is(false));
+        assertThat(advanced.isBefore(DATE_TIME_INSTANT.plus(Duration.ofDays(1)).plusSeconds(60)), is(true));
+        assertThat(set.isBefore(DATE_ONLY_INSTANT), is(false));
+        assertThat(set.isBefore(DATE_ONLY_INSTANT.plusSeconds(60)), is(true));
+    }
+
+    @Test
+    public void zeroScaleStopsTimePassing() throws InterruptedException {
+        MockClock mockClock = MockClock.accelerated(DATE_TIME_INSTANT, UTC, 1000);
+        Thread.sleep(1);
+
+        mockClock.setScale(0);
+        Instant stopped = mockClock.instant();
+        Thread.sleep(1);
+
+        assertThat(stopped.isAfter(DATE_TIME_INSTANT), is(true));
+        assertThat(mockClock.instant(), is(stopped));
+        assertThat(mockClock.getScale(), is(0.0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeScaleIsRejected() {
+        MockClock.at(DATE_TIME_INSTANT, UTC).setScale(-1);
+    }
+
+    @Test
+    public void bidirectionalJitterStaysWithinBound() {
+        MockClock mockClock = MockClock.at(DATE_TIME_INSTANT, UTC)
+                .jitterOnRead(Duration.ofMillis(1), 42, JitterMode.BIDIRECTIONAL);
+
+        boolean steppedBackwards = false;
+        Instant previous = mockClock.instant();
+        for (int i = 0; i < 10_000; i++) {
+            Instant instant = mockClock.instant();
+            assertThat(instant.isBefore(DATE_TIME_INSTANT.minusMillis(1)), is(false));
+            assertThat(instant.isAfter(DATE_TIME_INSTANT.plusMillis(1)), is(false));
+            steppedBackwards |= instant.isBefore(previous);
+            previous = instant;
+        }
+        assertThat(steppedBackwards, is(true));
+        assertThat(mockClock.epochNano(), is(MockClock.at(DATE_TIME_INSTANT, UTC).epochNano()));
+    }
+
+    @Test
+    public void monotonicJitterNeverStepsBackwards() {
+        MockClock mockClock = MockClock.at(DATE_TIME_INSTANT, UTC)
+                .jitterOnRead(Duration.ofMillis(1), 42, JitterMode.MONOTONIC);
+
+        Instant previous = mockClock.instant();
+        for (int i = 0; i < 10_000; i++) {
+            if (i % 100 == 0) {
+                mockClock.advanceByNanos(1_000);
+            }
+            Instant instant = mockClock.instant();
+            assertThat(instant.isBefore(previous), is(false));
+            assertThat(instant.isAfter(mockClock.toZonedDateTime().toInstant().plusMillis(1)), is(false));
+            previous = instant;
+        }
+    }
+
+    @Test
+    public void monotonicJitterFollowsClockMovedBackwards() {
+        MockClock mockClock = MockClock.at(DATE_TIME_INSTANT, UTC)
+                .jitterOnRead(Duration.ofMillis(1), 42, JitterMode.MONOTONIC);
+        mockClock.instant();
+
+        mockClock.advanceBySeconds(-10);
+        Instant instant = mockClock.instant();
+
+        assertThat(instant.isBefore(DATE_TIME_INSTANT.minusSeconds(10)), is(false));
+        assertThat(instant.isAfter(DATE_TIME_INSTANT.minusSeconds(10).plusMillis(1)), is(false));
+    }
+
+    @Test
+    public void jitterIsReproducibleFromSeed() {
+        MockClock mockClock1 = MockClock.at(DATE_TIME_INSTANT, UTC)
+                .jitterOnRead(Duration.ofMillis(1), 7, JitterMode.BIDIRECTIONAL);
+        MockClock mockClock2 = MockClock.at(DATE_TIME_INSTANT, UTC)
+                .jitterOnRead(Duration.ofMillis(1), 7, JitterMode.BIDIRECTIONAL);
+        MockClock mockClock3 = MockClock.at(DATE_TIME_INSTANT, UTC)
+                .jitterOnRead(Duration.ofMillis(1), 8, JitterMode.BIDIRECTIONAL);
+
+        List<Instant> instants1 = new ArrayList<>();
+        List<Instant> instants2 = new ArrayList<>();
+        List<Instant> instants3 = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            instants1.add(mockClock1.instant());
+            instants2.add(mockClock2.instant());
+            instants3.add(mockClock3.instant());
+        }
+
+        assertThat(instants1, is(instants2));
+        assertThat(instants1.equals(instants3), is(false));
+    }
+
+    @Test
+    public void stopJitterOnReadRestoresExactReads() {
+        MockClock mockClock = MockClock.at(DATE_TIME_INSTANT, UTC)
+                .jitterOnRead(Duration.ofMillis(1), 42, JitterMode.BIDIRECTIONAL);
+
+        mockClock.stopJitterOnRead();
+
+        assertClockInstant(mockClock, DATE_TIME_INSTANT);
+    }
+
+    @Test
+    public void restoreReturnsClockToSnapshot() {
+        MockClock mockClock = MockClock.at(DATE_TIME_INSTANT, UTC);
+        MockClock.Snapshot snapshot = mockClock.snapshot();
+
+        mockClock.advanceByDays(3).setHour(1);
+        mockClock.restore(snapshot);
+
+        assertClockInstant(mockClock, DATE_TIME_INSTANT);
+        assertThat(mockClock.ticker().read(), is(0L));
+        assertThat(snapshot.instant(), is(DATE_TIME_INSTANT));
+    }
+
+    @Test
+    public void forkIsIndependentOfOriginal() {
+        MockClock mockClock = MockClock.at(DATE_TIME_INSTANT, ZoneId.of("Europe/London"));
+        mockClock.advanceBySeconds(5);
+
+        MockClock fork = mockClock.fork();
+        fork.advanceBySeconds(10);
+        mockClock.advanceBySeconds(1);
+
+        assertClockInstant(fork, DATE_TIME_INSTANT.plusSeconds(15), ZoneId.of("Europe/London"));
+        assertClockInstant(mockClock, DATE_TIME_INSTANT.plusSeconds(6), ZoneId.of("Europe/London"));
+        assertThat(fork.ticker().read(), is(TimeUnit.SECONDS.toNanos(15)));
+    }
+
+    @Test
+    public void restoreDoesNotRunTimers() {
+        MockClock mockClock = MockClock.at(DATE_TIME_INSTANT, UTC);
+        MockClock.Snapshot later = mockClock.fork().advanceByMinutes(1).snapshot();
+        Simulation simulation = new Simulation(mockClock);
+        List<Instant> runTimes = new ArrayList<>();
+        simulation.schedule(Duration.ofSeconds(1), () -> runTimes.add(mockClock.instant()));
+
+        mockClock.restore(later);
+
+        assertThat(runTimes.isEmpty(), is(true));
+        assertClockInstant(mockClock, DATE_TIME_INSTANT.plusSeconds(60));
+    }
+
+    @Test
+    public void restoreIsRefusedWhileUnrestorableSchedulerHasPendingTasks() {
+        MockClock mockClock = MockClock.at(DATE_TIME_INSTANT, UTC);
+        MockClock.Snapshot snapshot = mockClock.snapshot();
+        MockScheduledExecutorService executor = new MockScheduledExecutorService(mockClock);
+        executor.schedule(() -> { }, 1, TimeUnit.SECONDS);
+        mockClock.advanceByMinutes(1);
+        executor.schedule(() -> { }, 1, TimeUnit.SECONDS);
+
+        try {
+            mockClock.restore(snapshot);
+            fail();
+        } catch (IllegalStateException e) {
+            assertClockInstant(mockClock, DATE_TIME_INSTANT.plusSeconds(60));
+        }
+
+        mockClock.advanceBySeconds(1);
+        mockClock.restore(snapshot);
+        assertClockInstant(mockClock, DATE_TIME_INSTANT);
+    }
+
+    @Test
+    public void localSettersMatchZonedDateTimeResolutionAcrossTransitions() {
+        ZoneId london = ZoneId.of("Europe/London");
+        Random random = new Random(42);
+        ZonedDateTime start = ZonedDateTime.of(2015, 1, 1, 0, 0, 0, 0, london);
+        for (int i = 0; i < 10_000; i++) {
+            ZonedDateTime current = start.plusSeconds(random.nextInt(2 * 366 * 24 * 3600)).withNano(123);
+            MockClock mockClock = MockClock.at(current);
+            int hour = random.nextInt(24);
+            int minute = random.nextInt(60);
+            int dayOfMonth = 1 + random.nextInt(28);
+            int month = 1 + random.nextInt(12);
+
+            mockClock.setHour(hour);
+            ZonedDateTime expected = current.withHour(hour);
+            assertThat(mockClock.toZonedDateTime(), is(expected));
+            mockClock.setMinute(minute);
+            expected = expected.withMinute(minute);
+            assertThat(mockClock.toZonedDateTime(), is(expected));
+            mockClock.setDayOfMonth(dayOfMonth).setMonth(month);
+            expected = expected.withDayOfMonth(dayOfMonth).withMonth(month);
+            assertThat(mockClock.toZonedDateTime(), is(expected));
+            mockClock.set(expected.toLocalDateTime().withHour(hour));
+            assertThat(mockClock.toZonedDateTime(), is(expected.toLocalDateTime().withHour(hour).atZone(london)));
+        }
+    }
+
+    @Test
+    public void setHourInOverlapRetainsCurrentOffset() {
+        ZoneId london = ZoneId.of("Europe/London");
+        ZonedDateTime laterOffset = ZonedDateTime.of(2015, 10, 25, 1, 10, 0, 0, london).withLaterOffsetAtOverlap();
+        MockClock mockClock = MockClock.at(laterOffset);
+
+        mockClock.setMinute(30);
+
+        assertThat(mockClock.toZonedDateTime(), is(laterOffset.withMinute(30)));
+        assertThat(mockClock.toZonedDateTime().getOffset(), is(ZoneOffset.UTC));
+    }
+
+    @Test
+    public void setHourInGapMovesForward() {
+        ZoneId london = ZoneId.of("Europe/London");
+        MockClock mockClock = MockClock.at(LocalDateTime.of(2015, 3, 29, 0, 30), london);
+
+        mockClock.setHour(1);
+
+        assertThat(mockClock.toZonedDateTime().toLocalDateTime(), is(LocalDateTime.of(2015, 3, 29, 2, 30)));
+    }
+
+    @Test
+    public void localSettersWorkWithFixedOffsetZone() {
+        ZoneOffset offset = ZoneOffset.ofHoursMinutes(5, 30);
+        MockClock mockClock = MockClock.at(LOCAL_DATE_TIME, offset);
+
+        mockClock.setHour(3).setYear(1900);
+
+        assertThat(mockClock.toZonedDateTime(), is(LOCAL_DATE_TIME.withHour(3).withYear(1900).atZone(offset)));
+    }
+
+    @Test
+    public void calendarFieldsMatchZonedDateTime() {
+        Random random = new Random(42);
+        List<ZoneId> zones =
+                Arrays.asList(ZoneId.of("Europe/London"), ZoneId.of("Asia/Kathmandu"), ZoneOffset.ofHours(-10));
+        for (ZoneId zone : zones) {
+            MockClock mockClock = MockClock.at(Instant.parse("1700-01-01T00:00:00Z"), zone);
+            for (int i = 0; i < 10_000; i++) {
+                mockClock.advanceByNanos((long) (random.nextDouble() * 2 * 366 * 24 * 3600 * 1_000_000_000L));
+                if (mockClock.getYear() > 2200) {
+                    mockClock.set(Instant.parse("1700-01-01T00:00:00Z"));
+                }
+                ZonedDateTime expected = mockClock.toZonedDateTime();
+
+                assertThat(mockClock.getYear(), is(expected.getYear()));
+                assertThat(mockClock.getMonthValue(), is(expected.getMonthValue()));
+                assertThat(mockClock.getDayOfMonth(), is(expected.getDayOfMonth()));
+                assertThat(mockClock.getHour(), is(expected.getHour()));
+                assertThat(mockClock.getMinute(), is(expected.getMinute()));
+                assertThat(mockClock.getSecond(), is(expected.getSecond()));
+                assertThat(mockClock.getNano(), is(expected.getNano()));
+                assertThat(mockClock.getEpochMilli(), is(expected.toInstant().toEpochMilli()));
+                assertThat(mockClock.getEpochNano(), is(MockClock.toEpochNano(expected.toInstant())));
+            }
+        }
+    }
+
+    @Test
+    public void calendarFieldsFollowClockMoves() {
+        MockClock mockClock = MockClock.at(LocalDateTime.of(2016, 2, 28, 23, 59, 59), UTC);
+        assertThat(mockClock.getDayOfMonth(), is(28));
+
+        mockClock.advanceBySeconds(1);
+
+        assertThat(mockClock.getMonthValue(), is(2));
+        assertThat(mockClock.getDayOfMonth(), is(29));
+        assertThat(mockClock.getHour(), is(0));
+        assertThat(mockClock.withZone(ZoneId.of("America/New_York")).getDayOfMonth(), is(28));
+    }
+
+    @Test
+    public void calendarFieldsDoNotTick() {
+        MockClock mockClock = MockClock.at(DATE_TIME_INSTANT, UTC).tickOnRead(Duration.ofSeconds(1));
+        int second = mockClock.getSecond();
+
+        assertThat(mockClock.getSecond(), is(second));
+        assertThat(mockClock.getEpochMilli(), is(DATE_TIME_INSTANT.toEpochMilli()));
+        assertThat(mockClock.getEpochNano(), is(mockClock.epochNano()));
+        assertThat(mockClock.instant(), is(DATE_TIME_INSTANT));
+    }
+
     @Test
     public void sameConstructorParametersYieldEqualInstances() {
         MockClock mockClock1 = MockClock.at(DATE_TIME_INSTANT, UTC);
@@ -527,6 +1210,50 @@ public class MockClockTest {
         assertThat(mockClock1.toString(), is(mockClock2.toString()));
     }
 
+    /**
+     * Read the clock continuously on two threads while repeatedly applying the given change, counting the reads that
+     * observed an earlier time than the previous read on the same thread.
+     */
+    private static int countBackwardReadsWhile(MockClock mockClock, IntConsumer change) throws InterruptedException {
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicInteger backwardReads = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(2);
+        List<Thread> readers = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            boolean claimTicks = i == 0;
+            Thread reader = new Thread(() -> {
+                started.countDown();
+                long previous = Long.MIN_VALUE;
+                while (!done.get()) {
+                    long current = claimTicks ? mockClock.millis() : mockClock.epochNano();
+                    if (current < previous) {
+                        backwardReads.incrementAndGet();
+                    }
+                    previous = current;
+                }
+            });
+            reader.start();
+            readers.add(reader);
+        }
+        awaitUninterruptibly(started);
+        for (int i = 0; i < 200_000; i++) {
+            change.accept(i);
+        }
+        done.set(true);
+        for (Thread reader : readers) {
+            reader.join();
+        }
+        return backwardReads.get();
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
     private void assertClockInstant(MockClock mockClock, Instant instant) {
         assertClockInstant(mockClock, instant, UTC);
     }
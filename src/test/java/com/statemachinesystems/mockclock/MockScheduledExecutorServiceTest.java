@@ -0,0 +1,227 @@
+package com.statemachinesystems.mockclock;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+import static com.statemachinesystems.mockclock.TestClocks.START;
+import static com.statemachinesystems.mockclock.TestClocks.startClock;
+import static java.util.Arrays.asList;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class MockScheduledExecutorServiceTest {
+
+    private final MockClock clock = startClock();
+    private final MockScheduledExecutorService executor = new MockScheduledExecutorService(clock);
+    private final List<Instant> runTimes = new ArrayList<>();
+
+    @Test
+    public void delayedTaskDoesNotRunBeforeDeadline() {
+        executor.schedule(this::recordRunTime, 10, TimeUnit.SECONDS);
+
+        clock.advanceBySeconds(9);
+
+        assertThat(runTimes.isEmpty(), is(true));
+    }
+
+    @Test
+    public void delayedTaskRunsAtDeadline() {
+        executor.schedule(this::recordRunTime, 10, TimeUnit.SECONDS);
+
+        clock.advanceByMinutes(1);
+
+        assertThat(runTimes, is(asList(START.plusSeconds(10))));
+        assertThat(clock.instant(), is(START.plusSeconds(60)));
+    }
+
+    @Test
+    public void tasksRunInDeadlineOrder() {
+        List<String> order = new ArrayList<>();
+        executor.schedule(() -> order.add("third"), 30, TimeUnit.SECONDS);
+        executor.schedule(() -> order.add("first"), 10, TimeUnit.SECONDS);
+        executor.schedule(() -> order.add("second"), 20, TimeUnit.SECONDS);
+
+        clock.advanceByMinutes(1);
+
+        assertThat(order, is(asList("first", "second", "third")));
+    }
+
+    @Test
+    public void tasksWithSameDeadlineRunInSubmissionOrder() {
+        List<String> order = new ArrayList<>();
+        executor.schedule(() -> order.add("first"), 10, TimeUnit.SECONDS);
+        executor.schedule(() -> order.add("second"), 10, TimeUnit.SECONDS);
+
+        clock.advanceBySeconds(10);
+
+        assertThat(order, is(asList("first", "second")));
+    }
+
+    @Test
+    public void fixedRateTaskRunsOncePerPeriod() {
+        executor.scheduleAtFixedRate(this::recordRunTime, 15, 20, TimeUnit.MINUTES);
+
+        clock.advanceBy(Duration.ofHours(1));
+
+        assertThat(runTimes, is(asList(START.plus(Duration.ofMinutes(15)), START.plus(Duration.ofMinutes(35)),
+                START.plus(Duration.ofMinutes(55)))));
+    }
+
+    @Test
+    public void fixedDelayTaskIsRescheduledFromEndOfRun() {
+        executor.scheduleWithFixedDelay(() -> {
+            recordRunTime();
+            clock.advanceBySeconds(5);
+        }, 0, 10, TimeUnit.SECONDS);
+
+        clock.advanceBySeconds(40);
+
+        assertThat(runTimes, is(asList(START, START.plusSeconds(15), START.plusSeconds(30))));
+    }
+
+    @Test
+    public void settingClockForwardRunsDueTasks() {
+        executor.schedule(this::recordRunTime, 1, TimeUnit.DAYS);
+
+        clock.set(START.plus(Duration.ofDays(2)));
+
+        assertThat(runTimes, is(asList(START.plus(Duration.ofDays(1)))));
+    }
+
+    @Test
+    public void advancingZoneViewRunsDueTasks() {
+        executor.schedule(this::recordRunTime, 10, TimeUnit.SECONDS);
+
+        clock.withZone(ZoneId.of("Asia/Tokyo")).advanceByMinutes(1);
+
+        assertThat(runTimes, is(asList(START.plusSeconds(10))));
+    }
+
+    @Test
+    public void taskScheduledByRunningTaskRunsWithinSameAdvance() {
+        executor.schedule(() -> executor.schedule(this::recordRunTime, 5, TimeUnit.SECONDS), 5, TimeUnit.SECONDS);
+
+        clock.advanceBySeconds(10);
+
+        assertThat(runTimes, is(asList(START.plusSeconds(10))));
+    }
+
+    @Test(timeout = 10_000)
+    public void settingClockToLatestInstantRunsDueTasksAndReturns() {
+        Instant latest = Instant.ofEpochSecond(Long.MAX_VALUE / 1_000_000_000L, Long.MAX_VALUE % 1_000_000_000L);
+        executor.schedule(this::recordRunTime, 10, TimeUnit.SECONDS);
+
+        clock.set(latest);
+
+        assertThat(runTimes, is(asList(START.plusSeconds(10))));
+        assertThat(clock.instant(), is(latest));
+    }
+
+    @Test(timeout = 10_000)
+    public void fixedRateTaskNearEndOfRangeStopsInsteadOfWrapping() {
+        Instant nearEnd = Instant.parse("2262-04-11T22:00:00Z");
+        clock.set(nearEnd);
+        executor.scheduleAtFixedRate(this::recordRunTime, 1, 1, TimeUnit.HOURS);
+
+        clock.advanceBy(Duration.ofMinutes(90));
+
+        assertThat(runTimes, is(asList(nearEnd.plus(Duration.ofHours(1)))));
+    }
+
+    @Test(timeout = 10_000)
+    public void fixedDelayTaskNearEndOfRangeStopsInsteadOfWrapping() {
+        Instant nearEnd = Instant.parse("2262-04-11T22:00:00Z");
+        clock.set(nearEnd);
+        executor.scheduleWithFixedDelay(this::recordRunTime, 1, 1, TimeUnit.HOURS);
+
+        clock.advanceBy(Duration.ofMinutes(90));
+
+        assertThat(runTimes, is(asList(nearEnd.plus(Duration.ofHours(1)))));
+    }
+
+    @Test
+    public void cancelledTaskDoesNotRun() {
+        ScheduledFuture<?> future = executor.schedule(this::recordRunTime, 10, TimeUnit.SECONDS);
+
+        future.cancel(false);
+        clock.advanceByMinutes(1);
+
+        assertThat(runTimes.isEmpty(), is(true));
+        assertThat(future.isCancelled(), is(true));
+    }
+
+    @Test
+    public void callableResultIsAvailableAfterDeadline() throws Exception {
+        ScheduledFuture<Instant> future = executor.schedule(clock::instant, 10, TimeUnit.SECONDS);
+
+        clock.advanceBySeconds(10);
+
+        assertThat(future.isDone(), is(true));
+        assertThat(future.get(), is(START.plusSeconds(10)));
+    }
+
+    @Test
+    public void delayReflectsClock() {
+        ScheduledFuture<?> future = executor.schedule(this::recordRunTime, 10, TimeUnit.SECONDS);
+
+        clock.advanceBySeconds(4);
+
+        assertThat(future.getDelay(TimeUnit.SECONDS), is(6L));
+    }
+
+    @Test
+    public void submittedTaskRunsWhenDueTasksAreRun() throws Exception {
+        Future<Instant> future = executor.submit(clock::instant);
+
+        assertThat(future.isDone(), is(false));
+        executor.runDueTasks();
+
+        assertThat(future.get(), is(START));
+    }
+
+    @Test(expected = RejectedExecutionException.class)
+    public void shutdownRejectsNewTasks() {
+        executor.shutdown();
+
+        executor.execute(this::recordRunTime);
+    }
+
+    @Test
+    public void shutdownCancelsPeriodicTasksButRunsDelayedTasks() {
+        ScheduledFuture<?> periodic = executor.scheduleAtFixedRate(() -> { }, 1, 1, TimeUnit.SECONDS);
+        executor.schedule(this::recordRunTime, 10, TimeUnit.SECONDS);
+
+        executor.shutdown();
+        assertThat(executor.isTerminated(), is(false));
+        clock.advanceBySeconds(10);
+
+        assertThat(periodic.isCancelled(), is(true));
+        assertThat(runTimes, is(asList(START.plusSeconds(10))));
+        assertThat(executor.isTerminated(), is(true));
+    }
+
+    @Test
+    public void shutdownNowReturnsPendingTasks() {
+        executor.schedule(this::recordRunTime, 10, TimeUnit.SECONDS);
+        executor.schedule(this::recordRunTime, 20, TimeUnit.SECONDS);
+
+        List<Runnable> pending = executor.shutdownNow();
+        clock.advanceByMinutes(1);
+
+        assertThat(pending.size(), is(2));
+        assertThat(runTimes.isEmpty(), is(true));
+        assertThat(executor.isTerminated(), is(true));
+    }
+
+    private void recordRunTime() {
+        runTimes.add(clock.instant());
+    }
+}
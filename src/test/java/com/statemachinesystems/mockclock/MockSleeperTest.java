@@ -0,0 +1,128 @@
+package com.statemachinesystems.mockclock;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+import static com.statemachinesystems.mockclock.TestClocks.START;
+import static com.statemachinesystems.mockclock.TestClocks.startClock;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class MockSleeperTest {
+
+    private final MockClock clock = startClock();
+    private final MockSleeper sleeper = new MockSleeper(clock);
+
+    @Test(timeout = 10_000)
+    public void sleepReturnsOnceClockReachesDeadline() throws Exception {
+        List<Instant> wakeTimes = new ArrayList<>();
+        Thread thread = start(() -> {
+            sleeper.sleep(Duration.ofSeconds(10));
+            wakeTimes.add(clock.instant());
+        });
+        awaitWaitingThreads(1);
+
+        clock.advanceBySeconds(9);
+        assertThat(sleeper.waitingThreads(), is(1));
+        clock.advanceBySeconds(1);
+        thread.join();
+
+        assertThat(wakeTimes.size(), is(1));
+        assertThat(sleeper.waitingThreads(), is(0));
+    }
+
+    @Test(timeout = 10_000)
+    public void awaitUntilReturnsOnceClockIsSetPastDeadline() throws Exception {
+        Thread thread = start(() -> sleeper.awaitUntil(START.plus(Duration.ofDays(1))));
+        awaitWaitingThreads(1);
+
+        clock.set(START.plus(Duration.ofDays(2)));
+        thread.join();
+
+        assertThat(sleeper.waitingThreads(), is(0));
+    }
+
+    @Test
+    public void awaitUntilPastInstantReturnsImmediately() throws Exception {
+        sleeper.awaitUntil(START.minusSeconds(1));
+        sleeper.awaitUntil(START);
+        sleeper.sleep(Duration.ZERO);
+
+        assertThat(sleeper.waitingThreads(), is(0));
+    }
+
+    @Test(timeout = 10_000)
+    public void advanceWakesOnlyThreadsWhoseDeadlinesHavePassed() throws Exception {
+        int threadCount = 1_000;
+        AtomicInteger woken = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 1; i <= threadCount; i++) {
+            Duration duration = Duration.ofSeconds(i);
+            threads.add(start(() -> {
+                sleeper.sleep(duration);
+                woken.incrementAndGet();
+            }));
+        }
+        awaitWaitingThreads(threadCount);
+
+        clock.advanceBySeconds(threadCount / 4);
+        while (woken.get() < threadCount / 4) {
+            Thread.yield();
+        }
+        assertThat(sleeper.waitingThreads(), is(threadCount - threadCount / 4));
+
+        clock.advanceBySeconds(threadCount);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertThat(woken.get(), is(threadCount));
+    }
+
+    @Test(timeout = 10_000)
+    public void interruptedSleepThrowsAndStopsWaiting() throws Exception {
+        AtomicBoolean interrupted = new AtomicBoolean();
+        Thread thread = new Thread(() -> {
+            try {
+                sleeper.sleep(Duration.ofSeconds(10));
+            } catch (InterruptedException e) {
+                interrupted.set(true);
+            }
+        });
+        thread.start();
+        awaitWaitingThreads(1);
+
+        thread.interrupt();
+        thread.join();
+
+        assertThat(interrupted.get(), is(true));
+        assertThat(sleeper.waitingThreads(), is(0));
+    }
+
+    private Thread start(Wait wait) {
+        Thread thread = new Thread(() -> {
+            try {
+                wait.run();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        thread.start();
+        return thread;
+    }
+
+    private void awaitWaitingThreads(int count) {
+        while (sleeper.waitingThreads() < count) {
+            Thread.yield();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Wait {
+        void run() throws InterruptedException;
+    }
+}
@@ -0,0 +1,89 @@
+package com.statemachinesystems.mockclock;
+
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+import static com.statemachinesystems.mockclock.TestClocks.START;
+import static com.statemachinesystems.mockclock.TestClocks.startClock;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class MockTickerTest {
+
+    private final MockClock clock = startClock();
+    private final MockTicker ticker = clock.ticker();
+
+    @Test
+    public void tickerStartsAtZero() {
+        assertThat(ticker.read(), is(0L));
+    }
+
+    @Test
+    public void advanceMovesTickerAndWallTime() {
+        clock.advanceBySeconds(5);
+
+        assertThat(ticker.read(), is(TimeUnit.SECONDS.toNanos(5)));
+        assertThat(clock.instant(), is(START.plusSeconds(5)));
+    }
+
+    @Test
+    public void stepMovesOnlyWallTime() {
+        clock.advanceBySeconds(5);
+
+        clock.stepBy(Duration.ofSeconds(-3));
+
+        assertThat(ticker.read(), is(TimeUnit.SECONDS.toNanos(5)));
+        assertThat(clock.instant(), is(START.plusSeconds(2)));
+    }
+
+    @Test
+    public void setMovesOnlyWallTime() {
+        clock.set(START.minus(Duration.ofDays(1)));
+        clock.setHour(3);
+
+        assertThat(ticker.read(), is(0L));
+    }
+
+    @Test
+    public void negativeAdvanceDoesNotMoveTickerBackwards() {
+        clock.advanceByMillis(10);
+        clock.advanceByMillis(-5);
+
+        assertThat(ticker.read(), is(TimeUnit.MILLISECONDS.toNanos(10)));
+        assertThat(clock.instant(), is(START.plusMillis(5)));
+    }
+
+    @Test
+    public void zoneViewsShareTicker() {
+        MockClock view = clock.withZone(ZoneId.of("Asia/Tokyo"));
+
+        view.advanceByNanos(42);
+
+        assertThat(view.ticker(), is(ticker));
+        assertThat(ticker.getAsLong(), is(42L));
+    }
+
+    @Test
+    public void tickerMovesWithTicksOnRead() {
+        clock.tickOnRead(Duration.ofNanos(7));
+
+        clock.instant();
+        clock.instant();
+
+        assertThat(ticker.read(), is(14L));
+    }
+
+    @Test
+    public void tickerMovesThroughTimerDeadlines() {
+        MockScheduledExecutorService executor = new MockScheduledExecutorService(clock);
+        long[] tickerAtRun = new long[1];
+        executor.schedule(() -> tickerAtRun[0] = ticker.read(), 10, TimeUnit.SECONDS);
+
+        clock.advanceByMinutes(1);
+
+        assertThat(tickerAtRun[0], is(TimeUnit.SECONDS.toNanos(10)));
+        assertThat(ticker.read(), is(TimeUnit.MINUTES.toNanos(1)));
+    }
+}
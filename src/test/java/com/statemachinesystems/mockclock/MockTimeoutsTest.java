@@ -0,0 +1,142 @@
+package com.statemachinesystems.mockclock;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeoutException;
+import org.junit.Test;
+
+import static com.statemachinesystems.mockclock.TestClocks.START;
+import static com.statemachinesystems.mockclock.TestClocks.startClock;
+import static java.util.Arrays.asList;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class MockTimeoutsTest {
+
+    private final MockClock clock = startClock();
+    private final MockTimeouts timeouts = new MockTimeouts(clock);
+    private final List<Instant> runTimes = new ArrayList<>();
+
+    @Test
+    public void delayedExecutorRunsTaskAtExactDeadline() {
+        Executor executor = timeouts.delayedExecutor(Duration.ofNanos(1_500_000_001L));
+        executor.execute(this::recordRunTime);
+
+        clock.advanceBySeconds(1);
+        assertThat(runTimes.isEmpty(), is(true));
+        clock.advanceBySeconds(1);
+
+        assertThat(runTimes, is(asList(START.plusNanos(1_500_000_001L))));
+    }
+
+    @Test
+    public void delayedExecutorPassesTasksToGivenExecutor() {
+        List<Runnable> passedOn = new ArrayList<>();
+        Executor executor = timeouts.delayedExecutor(Duration.ofSeconds(1), passedOn::add);
+
+        CompletableFuture.runAsync(this::recordRunTime, executor);
+        clock.advanceBySeconds(1);
+
+        assertThat(passedOn.size(), is(1));
+        assertThat(runTimes.isEmpty(), is(true));
+        passedOn.get(0).run();
+        assertThat(runTimes, is(asList(START.plusSeconds(1))));
+    }
+
+    @Test
+    public void supplyAsyncCompletesAfterDelay() throws Exception {
+        CompletableFuture<Instant> future =
+                CompletableFuture.supplyAsync(clock::instant, timeouts.delayedExecutor(Duration.ofMinutes(5)));
+
+        assertThat(future.isDone(), is(false));
+        clock.advanceByMinutes(10);
+
+        assertThat(future.get(), is(START.plus(Duration.ofMinutes(5))));
+    }
+
+    @Test
+    public void orTimeoutCompletesExceptionallyAtDeadline() throws Exception {
+        CompletableFuture<String> future = timeouts.orTimeout(new CompletableFuture<>(), Duration.ofSeconds(30));
+
+        clock.advanceBySeconds(29);
+        assertThat(future.isDone(), is(false));
+        clock.advanceBySeconds(1);
+
+        assertThat(future.isCompletedExceptionally(), is(true));
+        try {
+            future.get();
+            fail();
+        } catch (ExecutionException e) {
+            assertThat(e.getCause(), is(instanceOf(TimeoutException.class)));
+        }
+    }
+
+    @Test
+    public void completedFutureCancelsItsTimeout() throws Exception {
+        CompletableFuture<String> future = timeouts.orTimeout(new CompletableFuture<>(), Duration.ofSeconds(30));
+
+        future.complete("done");
+        clock.advanceByMinutes(1);
+
+        assertThat(future.get(), is("done"));
+        assertThat(timeouts.pendingTimeouts(), is(0));
+    }
+
+    @Test
+    public void completeOnTimeoutCompletesWithValueAtDeadline() throws Exception {
+        CompletableFuture<String> future =
+                timeouts.completeOnTimeout(new CompletableFuture<>(), "fallback", Duration.ofSeconds(30));
+
+        clock.advanceBySeconds(30);
+
+        assertThat(future.get(), is("fallback"));
+    }
+
+    @Test
+    public void timeoutsFireAtDeadlineAfterClockIsSetBackwards() throws Exception {
+        timeouts.delayedExecutor(Duration.ofSeconds(1)).execute(this::recordRunTime);
+        clock.advanceByMinutes(1);
+        Instant earlier = START.minus(Duration.ofHours(1));
+        clock.set(earlier);
+
+        CompletableFuture<String> timedOut = timeouts.orTimeout(new CompletableFuture<>(), Duration.ofSeconds(10));
+        CompletableFuture<String> completed =
+                timeouts.completeOnTimeout(new CompletableFuture<>(), "fallback", Duration.ofSeconds(20));
+        timeouts.delayedExecutor(Duration.ofSeconds(30)).execute(this::recordRunTime);
+        clock.advanceBySeconds(30);
+
+        assertThat(timedOut.isCompletedExceptionally(), is(true));
+        assertThat(completed.get(), is("fallback"));
+        assertThat(runTimes, is(asList(START.plusSeconds(1), earlier.plusSeconds(30))));
+    }
+
+    @Test
+    public void largeFanOutOnlyTimesOutIncompleteFutures() {
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            futures.add(timeouts.completeOnTimeout(new CompletableFuture<>(), -1, Duration.ofMillis(1 + i % 1_000)));
+        }
+        for (int i = 0; i < futures.size(); i += 2) {
+            futures.get(i).complete(i);
+        }
+        assertThat(timeouts.pendingTimeouts(), is(50_000));
+
+        clock.advanceBySeconds(1);
+
+        for (int i = 0; i < futures.size(); i++) {
+            assertThat(futures.get(i).join(), is(i % 2 == 0 ? i : -1));
+        }
+        assertThat(timeouts.pendingTimeouts(), is(0));
+    }
+
+    private void recordRunTime() {
+        runTimes.add(clock.instant());
+    }
+}
@@ -0,0 +1,151 @@
+package com.statemachinesystems.mockclock;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static com.statemachinesystems.mockclock.TestClocks.START;
+import static com.statemachinesystems.mockclock.TestClocks.UTC;
+import static com.statemachinesystems.mockclock.TestClocks.startClock;
+import static java.util.Arrays.asList;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class ReadTraceTest {
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final MockClock clock = startClock();
+
+    @Test
+    public void capacityIsRoundedUpToPowerOfTwo() {
+        assertThat(new ReadTrace(1).capacity(), is(1));
+        assertThat(new ReadTrace(100).capacity(), is(128));
+        assertThat(new ReadTrace(128).capacity(), is(128));
+    }
+
+    @Test
+    public void readsAreRecordedInOrder() {
+        ReadTrace trace = new ReadTrace(16);
+        clock.startTracing(trace).tickOnRead(Duration.ofNanos(1));
+
+        clock.instant();
+        clock.millis();
+        clock.epochNano();
+        clock.instant();
+
+        long startNano = startClock().epochNano();
+        List<Long> recorded = new ArrayList<>();
+        trace.forEach((sequence, threadId, epochNano) -> {
+            assertThat(sequence, is((long) recorded.size()));
+            assertThat(threadId, is(Thread.currentThread().getId()));
+            recorded.add(epochNano - startNano);
+        });
+        assertThat(recorded, is(asList(0L, 1L, 2L)));
+    }
+
+    @Test
+    public void oldestRecordsAreOverwritten() {
+        ReadTrace trace = new ReadTrace(4);
+        clock.startTracing(trace);
+
+        for (int i = 0; i < 10; i++) {
+            clock.advanceByNanos(1).instant();
+        }
+
+        List<Long> sequences = new ArrayList<>();
+        trace.forEach((sequence, threadId, epochNano) -> sequences.add(sequence));
+        assertThat(trace.recorded(), is(10L));
+        assertThat(sequences, is(asList(6L, 7L, 8L, 9L)));
+    }
+
+    @Test
+    public void readsAfterStoppingAreNotRecorded() {
+        ReadTrace trace = new ReadTrace(4);
+        clock.startTracing(trace).instant();
+
+        clock.stopTracing().instant();
+
+        assertThat(trace.recorded(), is(1L));
+    }
+
+    @Test
+    public void dumpWritesCompactBinaryRecords() throws IOException {
+        ReadTrace trace = new ReadTrace(8);
+        clock.startTracing(trace);
+        clock.instant();
+        clock.advanceBySeconds(1).instant();
+        Path file = temporaryFolder.newFile().toPath();
+
+        trace.dump(file);
+
+        assertThat(Files.size(file), is(4L + 2 * 3 * Long.BYTES));
+        try (InputStream in = Files.newInputStream(file)) {
+            DataInputStream data = new DataInputStream(in);
+            assertThat(data.readInt(), is(ReadTrace.MAGIC));
+            for (int i = 0; i < 2; i++) {
+                assertThat(data.readLong(), is((long) i));
+                assertThat(data.readLong(), is(Thread.currentThread().getId()));
+                assertThat(data.readLong(), is(MockClock.at(START.plusSeconds(i), UTC).epochNano()));
+            }
+        }
+    }
+
+    @Test
+    public void concurrentReadsAreAllRecorded() throws InterruptedException {
+        ReadTrace trace = new ReadTrace(1 << 16);
+        clock.startTracing(trace);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Thread thread = new Thread(() -> {
+                for (int j = 0; j < 10_000; j++) {
+                    clock.instant();
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        long[] count = new long[1];
+        trace.forEach((sequence, threadId, epochNano) -> count[0]++);
+        assertThat(count[0], is(40_000L));
+    }
+
+    @Test(timeout = 30_000)
+    public void recordsBeingOverwrittenAreNeverMisreported() throws InterruptedException {
+        ReadTrace trace = new ReadTrace(2);
+        Thread writer = new Thread(() -> {
+            for (long i = 0; i < 2_000_000; i++) {
+                trace.record(i);
+            }
+        });
+        long writerId = writer.getId();
+        AtomicInteger misreported = new AtomicInteger();
+        writer.start();
+
+        while (writer.isAlive()) {
+            trace.forEach((sequence, threadId, epochNano) -> {
+                if (epochNano != sequence || threadId != writerId) {
+                    misreported.incrementAndGet();
+                }
+            });
+        }
+        writer.join();
+
+        assertThat(misreported.get(), is(0));
+    }
+}
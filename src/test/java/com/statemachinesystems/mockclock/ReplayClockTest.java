@@ -0,0 +1,151 @@
+package com.statemachinesystems.mockclock;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static com.statemachinesystems.mockclock.TestClocks.START;
+import static com.statemachinesystems.mockclock.TestClocks.UTC;
+import static com.statemachinesystems.mockclock.TestClocks.startClock;
+import static java.util.Arrays.asList;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class ReplayClockTest {
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void clockStartsAtFirstTimestamp() throws IOException {
+        try (ReplayClock clock = ReplayClock.open(trace(0, 5, 7), UTC, ReplayClock.Mode.ON_NEXT)) {
+            assertThat(clock.instant(), is(START));
+            assertThat(clock.instant(), is(START));
+            assertThat(clock.size(), is(3L));
+        }
+    }
+
+    @Test
+    public void nextMovesThroughTrace() throws IOException {
+        try (ReplayClock clock = ReplayClock.open(trace(0, 5, 7), UTC, ReplayClock.Mode.ON_NEXT)) {
+            assertThat(clock.next(), is(true));
+            assertThat(clock.instant(), is(START.plusNanos(5)));
+            assertThat(clock.next(), is(true));
+            assertThat(clock.millis(), is(START.toEpochMilli()));
+            assertThat(clock.hasNext(), is(false));
+            assertThat(clock.next(), is(false));
+            assertThat(clock.instant(), is(START.plusNanos(7)));
+        }
+    }
+
+    @Test
+    public void eachReadReturnsNextTimestamp() throws IOException {
+        try (ReplayClock clock = ReplayClock.open(trace(0, 5, 7), UTC, ReplayClock.Mode.ON_READ)) {
+            List<Instant> instants = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                instants.add(clock.instant());
+            }
+
+            assertThat(instants, is(asList(START, START.plusNanos(5), START.plusNanos(7), START.plusNanos(7))));
+        }
+    }
+
+    @Test
+    public void traceLargerThanWindowIsReplayedAcrossWindows() throws IOException {
+        long[] offsets = new long[100];
+        for (int i = 0; i < offsets.length; i++) {
+            offsets[i] = i * 1_000L;
+        }
+        try (ReplayClock clock = ReplayClock.open(trace(offsets), UTC, ReplayClock.Mode.ON_READ, 64)) {
+            for (long offset : offsets) {
+                assertThat(clock.instant(), is(START.plusNanos(offset)));
+            }
+        }
+    }
+
+    @Test
+    public void replayedTimestampsRunScheduledTasks() throws IOException {
+        try (ReplayClock clock = ReplayClock.open(trace(0, TimeUnit.SECONDS.toNanos(2)), UTC,
+                ReplayClock.Mode.ON_NEXT)) {
+            MockScheduledExecutorService executor = new MockScheduledExecutorService(clock.mockClock());
+            List<Instant> runTimes = new ArrayList<>();
+            executor.schedule(() -> runTimes.add(clock.instant()), 1, TimeUnit.SECONDS);
+
+            clock.next();
+
+            assertThat(runTimes, is(asList(START.plusSeconds(1))));
+        }
+    }
+
+    @Test
+    public void zoneViewSharesReplayPosition() throws IOException {
+        try (ReplayClock clock = ReplayClock.open(trace(0, 5), UTC, ReplayClock.Mode.ON_NEXT)) {
+            ReplayClock view = clock.withZone(ZoneId.of("Asia/Tokyo"));
+
+            view.next();
+
+            assertThat(clock.instant(), is(START.plusNanos(5)));
+            assertThat(view.getZone(), is(ZoneId.of("Asia/Tokyo")));
+        }
+    }
+
+    @Test(timeout = 30_000)
+    public void concurrentReadsNeverMoveUnderlyingClockBackwards() throws Exception {
+        long[] offsets = new long[100_000];
+        for (int i = 0; i < offsets.length; i++) {
+            offsets[i] = i;
+        }
+        try (ReplayClock clock = ReplayClock.open(trace(offsets), UTC, ReplayClock.Mode.ON_READ)) {
+            AtomicInteger backwardMoves = new AtomicInteger();
+            clock.mockClock().addListener((previous, current) -> {
+                if (current < previous) {
+                    backwardMoves.incrementAndGet();
+                }
+            });
+            List<Thread> readers = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                Thread reader = new Thread(() -> {
+                    while (clock.hasNext()) {
+                        clock.millis();
+                    }
+                });
+                reader.start();
+                readers.add(reader);
+            }
+            for (Thread reader : readers) {
+                reader.join();
+            }
+
+            assertThat(backwardMoves.get(), is(0));
+            assertThat(clock.mockClock().instant(), is(START.plusNanos(offsets.length - 1)));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void emptyTraceIsRejected() throws IOException {
+        ReplayClock.open(trace(), UTC, ReplayClock.Mode.ON_NEXT);
+    }
+
+    private Path trace(long... offsets) throws IOException {
+        Path file = temporaryFolder.newFile().toPath();
+        long start = startClock().epochNano();
+        try (OutputStream out = Files.newOutputStream(file)) {
+            DataOutputStream data = new DataOutputStream(out);
+            for (long offset : offsets) {
+                data.writeLong(start + offset);
+            }
+        }
+        return file;
+    }
+}
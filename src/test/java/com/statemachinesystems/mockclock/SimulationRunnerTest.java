@@ -0,0 +1,95 @@
+package com.statemachinesystems.mockclock;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.AfterClass;
+import org.junit.Test;
+
+import static com.statemachinesystems.mockclock.TestClocks.START;
+import static com.statemachinesystems.mockclock.TestClocks.UTC;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class SimulationRunnerTest {
+
+    private static final ForkJoinPool POOL = new ForkJoinPool(4);
+
+    private final SimulationRunner runner = new SimulationRunner(START, UTC, POOL);
+
+    @AfterClass
+    public static void shutDownPool() {
+        POOL.shutdown();
+    }
+
+    @Test
+    public void everySeedRunsInItsOwnUniverse() {
+        Set<Long> seeds = ConcurrentHashMap.newKeySet();
+
+        List<SimulationRunner.Failure> failures = runner.run(universe -> {
+            seeds.add(universe.seed());
+            assertThat(universe.clock().instant(), is(START));
+            universe.clock().advanceByDays(1);
+        }, 100, 1000);
+
+        assertThat(failures.isEmpty(), is(true));
+        assertThat(seeds.size(), is(1000));
+    }
+
+    @Test
+    public void failuresAreReportedInSeedOrder() {
+        List<SimulationRunner.Failure> failures = runner.run(universe -> {
+            if (universe.seed() % 100 == 7) {
+                throw new IllegalStateException("seed " + universe.seed());
+            }
+        }, 0, 1000);
+
+        assertThat(failures.size(), is(10));
+        for (int i = 0; i < failures.size(); i++) {
+            assertThat(failures.get(i).seed(), is(i * 100L + 7));
+            assertThat(failures.get(i).cause().getMessage(), is("seed " + (i * 100L + 7)));
+        }
+    }
+
+    @Test
+    public void assertionFailuresAreReported() {
+        List<SimulationRunner.Failure> failures = runner.run(universe -> assertThat(universe.seed(), is(1L)), 0, 3);
+
+        assertThat(failures.size(), is(2));
+    }
+
+    @Test
+    public void failingSeedReplaysDeterministically() throws Exception {
+        SimulationRunner.Scenario scenario = universe -> {
+            Simulation simulation = universe.simulation();
+            for (int i = 0; i < 100; i++) {
+                simulation.schedule(Duration.ofMillis(universe.random().nextInt(10_000)), () -> { });
+            }
+            simulation.runUntilIdle();
+            if (universe.clock().instant().isAfter(START.plusMillis(9_990))) {
+                throw new AssertionError("late: " + universe.clock().instant());
+            }
+        };
+        List<SimulationRunner.Failure> failures = runner.run(scenario, 0, 200);
+
+        assertThat(failures.isEmpty(), is(false));
+        for (SimulationRunner.Failure failure : failures) {
+            try {
+                runner.replay(scenario, failure.seed());
+                throw new IllegalStateException("replay of seed " + failure.seed() + " did not fail");
+            } catch (AssertionError e) {
+                assertThat(e.getMessage(), is(failure.cause().getMessage()));
+            }
+        }
+    }
+
+    @Test
+    public void replayReturnsUniverse() throws Exception {
+        SimulationRunner.Universe universe = runner.replay(u -> u.clock().advanceBySeconds(u.seed()), 42);
+
+        assertThat(universe.seed(), is(42L));
+        assertThat(universe.clock().instant(), is(START.plusSeconds(42)));
+    }
+}
@@ -0,0 +1,178 @@
+package com.statemachinesystems.mockclock;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+import static com.statemachinesystems.mockclock.TestClocks.START;
+import static com.statemachinesystems.mockclock.TestClocks.startClock;
+import static java.util.Arrays.asList;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class SimulationTest {
+
+    private final MockClock clock = startClock();
+    private final Simulation simulation = new Simulation(clock);
+    private final List<Instant> runTimes = new ArrayList<>();
+
+    @Test
+    public void runUntilIdleRunsEventsInTimeOrder() {
+        simulation.schedule(START.plusSeconds(30), this::recordRunTime);
+        simulation.schedule(START.plusSeconds(10), this::recordRunTime);
+        simulation.schedule(Duration.ofSeconds(20), this::recordRunTime);
+
+        long eventsRun = simulation.runUntilIdle();
+
+        assertThat(eventsRun, is(3L));
+        assertThat(runTimes, is(asList(START.plusSeconds(10), START.plusSeconds(20), START.plusSeconds(30))));
+        assertThat(clock.instant(), is(START.plusSeconds(30)));
+        assertThat(simulation.pendingEvents(), is(0));
+    }
+
+    @Test
+    public void eventsAtSameInstantRunInScheduleOrder() {
+        List<String> order = new ArrayList<>();
+        simulation.schedule(START.plusSeconds(1), () -> order.add("first"));
+        simulation.schedule(START.plusSeconds(1), () -> order.add("second"));
+        simulation.schedule(START.plusSeconds(1), () -> order.add("third"));
+
+        simulation.runUntilIdle();
+
+        assertThat(order, is(asList("first", "second", "third")));
+    }
+
+    @Test
+    public void eventsScheduledByEventsAreRun() {
+        simulation.schedule(Duration.ofSeconds(1), () -> {
+            recordRunTime();
+            simulation.schedule(Duration.ZERO, this::recordRunTime);
+            simulation.schedule(Duration.ofSeconds(1), this::recordRunTime);
+        });
+
+        simulation.runUntilIdle();
+
+        assertThat(runTimes, is(asList(START.plusSeconds(1), START.plusSeconds(1), START.plusSeconds(2))));
+    }
+
+    @Test
+    public void runUntilStopsAtGivenInstant() {
+        simulation.schedule(START.plusSeconds(10), this::recordRunTime);
+        simulation.schedule(START.plusSeconds(20), this::recordRunTime);
+        simulation.schedule(START.plusSeconds(30), this::recordRunTime);
+
+        long eventsRun = simulation.runUntil(START.plusSeconds(20));
+
+        assertThat(eventsRun, is(2L));
+        assertThat(runTimes, is(asList(START.plusSeconds(10), START.plusSeconds(20))));
+        assertThat(clock.instant(), is(START.plusSeconds(20)));
+        assertThat(simulation.pendingEvents(), is(1));
+    }
+
+    @Test
+    public void eventScheduledInPastRunsAtCurrentTime() {
+        simulation.schedule(START.minusSeconds(10), this::recordRunTime);
+
+        simulation.runUntilIdle();
+
+        assertThat(runTimes, is(asList(START)));
+    }
+
+    @Test
+    public void advancingClockRunsDueEvents() {
+        simulation.schedule(Duration.ofMinutes(1), this::recordRunTime);
+
+        clock.advanceByHours(1);
+
+        assertThat(runTimes, is(asList(START.plusSeconds(60))));
+    }
+
+    @Test
+    public void eventsInterleaveWithScheduledExecutorTasks() {
+        MockScheduledExecutorService executor = new MockScheduledExecutorService(clock);
+        List<String> order = new ArrayList<>();
+        simulation.schedule(Duration.ofSeconds(2), () -> order.add("event"));
+        executor.schedule(() -> order.add("task"), 1, TimeUnit.SECONDS);
+        simulation.schedule(Duration.ofSeconds(3), () -> order.add("event"));
+
+        simulation.runUntilIdle();
+
+        assertThat(order, is(asList("task", "event", "event")));
+    }
+
+    @Test
+    public void largeNumberOfChainedEventsRun() {
+        int[] remaining = {200_000};
+        Runnable tick = new Runnable() {
+            @Override
+            public void run() {
+                if (--remaining[0] > 0) {
+                    simulation.schedule(Duration.ofMillis(1), this);
+                }
+            }
+        };
+        simulation.schedule(Duration.ZERO, tick);
+
+        long eventsRun = simulation.runUntilIdle();
+
+        assertThat(eventsRun, is(200_000L));
+        assertThat(clock.instant(), is(START.plusMillis(199_999)));
+    }
+
+    @Test
+    public void restoreRewindsClockAndEvents() {
+        simulation.schedule(START.plusSeconds(10), this::recordRunTime);
+        Simulation.Snapshot snapshot = simulation.snapshot();
+        simulation.schedule(START.plusSeconds(5), this::recordRunTime);
+        simulation.runUntilIdle();
+
+        simulation.restore(snapshot);
+
+        assertThat(clock.instant(), is(START));
+        assertThat(simulation.pendingEvents(), is(1));
+        simulation.runUntilIdle();
+        assertThat(runTimes, is(asList(START.plusSeconds(5), START.plusSeconds(10), START.plusSeconds(10))));
+    }
+
+    @Test
+    public void forksRunSharedEventsIndependently() {
+        List<String> order = new ArrayList<>();
+        simulation.schedule(START.plusSeconds(10), () -> order.add("shared"));
+
+        Simulation fork = simulation.fork();
+        fork.schedule(START.plusSeconds(5), () -> order.add("fork"));
+        fork.runUntilIdle();
+
+        assertThat(order, is(asList("fork", "shared")));
+        assertThat(fork.clock().instant(), is(START.plusSeconds(10)));
+        assertThat(clock.instant(), is(START));
+        assertThat(simulation.pendingEvents(), is(1));
+        simulation.runUntilIdle();
+        assertThat(order, is(asList("fork", "shared", "shared")));
+    }
+
+    @Test
+    public void manyBranchesCanBeExploredFromOneSnapshot() {
+        for (int i = 0; i < 1_000; i++) {
+            simulation.schedule(Duration.ofMillis(i), () -> { });
+        }
+        Simulation.Snapshot snapshot = simulation.snapshot();
+
+        for (int branch = 0; branch < 100; branch++) {
+            simulation.schedule(Duration.ofMillis(branch), this::recordRunTime);
+            simulation.runUntilIdle();
+            simulation.restore(snapshot);
+        }
+
+        assertThat(runTimes.size(), is(100));
+        assertThat(simulation.pendingEvents(), is(1_000));
+        assertThat(clock.instant(), is(START));
+    }
+
+    private void recordRunTime() {
+        runTimes.add(clock.instant());
+    }
+}
@@ -0,0 +1,30 @@
+package com.statemachinesystems.mockclock;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static java.time.Month.DECEMBER;
+
+/**
+ * The starting time and zone shared by the tests of classes that are driven by a {@link MockClock}.
+ */
+final class TestClocks {
+
+    static final ZoneId UTC = ZoneId.of("UTC");
+    private static final LocalDateTime START_DATE_TIME = LocalDateTime.of(2015, DECEMBER, 9, 12, 25, 38);
+    static final Instant START = START_DATE_TIME.toInstant(ZoneOffset.UTC);
+
+    private TestClocks() {
+    }
+
+    /**
+     * Construct a new clock showing {@link #START} in {@link #UTC}.
+     *
+     * @return a new {@link MockClock}
+     */
+    static MockClock startClock() {
+        return MockClock.at(START, UTC);
+    }
+}
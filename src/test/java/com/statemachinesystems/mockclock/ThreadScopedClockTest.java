@@ -0,0 +1,86 @@
+package com.statemachinesystems.mockclock;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Test;
+
+import static com.statemachinesystems.mockclock.TestClocks.START;
+import static com.statemachinesystems.mockclock.TestClocks.UTC;
+import static com.statemachinesystems.mockclock.TestClocks.startClock;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class ThreadScopedClockTest {
+
+    @Test
+    public void eachThreadGetsItsOwnClock() throws InterruptedException {
+        ThreadScopedClock clock = ThreadScopedClock.perThread(() -> startClock());
+        AtomicReference<Instant> otherThreadInstant = new AtomicReference<>();
+
+        clock.current().advanceBySeconds(10);
+        Thread thread = new Thread(() -> otherThreadInstant.set(clock.instant()));
+        thread.start();
+        thread.join();
+
+        assertThat(clock.instant(), is(START.plusSeconds(10)));
+        assertThat(otherThreadInstant.get(), is(START));
+    }
+
+    @Test
+    public void repeatedLookupsReturnSameClock() {
+        ThreadScopedClock clock = ThreadScopedClock.perThread(() -> startClock());
+
+        assertThat(clock.current(), is(sameInstance(clock.current())));
+    }
+
+    @Test
+    public void inheritableClockIsSharedWithChildThreads() throws InterruptedException {
+        ThreadScopedClock clock = ThreadScopedClock.inheritable(() -> startClock());
+        MockClock parentClock = clock.current();
+        AtomicReference<MockClock> childClock = new AtomicReference<>();
+
+        Thread thread = new Thread(() -> childClock.set(clock.current()));
+        thread.start();
+        thread.join();
+
+        assertThat(childClock.get(), is(sameInstance(parentClock)));
+    }
+
+    @Test
+    public void boundClockIsUsed() {
+        ThreadScopedClock clock = ThreadScopedClock.perThread(() -> startClock());
+        MockClock bound = MockClock.at(START.plusSeconds(60), UTC);
+
+        clock.set(bound);
+
+        assertThat(clock.instant(), is(START.plusSeconds(60)));
+        assertThat(clock.millis(), is(START.plusSeconds(60).toEpochMilli()));
+    }
+
+    @Test
+    public void resetCreatesNewClock() {
+        ThreadScopedClock clock = ThreadScopedClock.perThread(() -> startClock());
+        MockClock first = clock.current();
+
+        clock.reset();
+
+        assertThat(clock.current(), is(not(sameInstance(first))));
+    }
+
+    @Test
+    public void zoneViewRoutesToSameClocks() {
+        ThreadScopedClock clock = ThreadScopedClock.perThread(() -> startClock());
+        ZoneId tokyo = ZoneId.of("Asia/Tokyo");
+        Clock tokyoClock = clock.withZone(tokyo);
+
+        clock.current().advanceBySeconds(5);
+
+        assertThat(tokyoClock.getZone(), is(tokyo));
+        assertThat(tokyoClock.instant(), is(START.plusSeconds(5)));
+        assertThat(clock.getZone(), is(UTC));
+    }
+}
@@ -0,0 +1,167 @@
+package com.statemachinesystems.mockclock;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+import static com.statemachinesystems.mockclock.TestClocks.START;
+import static com.statemachinesystems.mockclock.TestClocks.startClock;
+import static java.util.Arrays.asList;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class TimerWheelTest {
+
+    private final MockClock clock = startClock();
+    private final TimerWheel wheel = new TimerWheel(clock);
+    private final List<Instant> runTimes = new ArrayList<>();
+
+    @Test
+    public void timerDoesNotFireBeforeDeadline() {
+        wheel.schedule(this::recordRunTime, 250, TimeUnit.MILLISECONDS);
+
+        clock.advanceByMillis(249);
+
+        assertThat(runTimes.isEmpty(), is(true));
+        assertThat(wheel.pendingTimers(), is(1));
+    }
+
+    @Test
+    public void timerFiresAtDeadline() {
+        wheel.schedule(this::recordRunTime, 250, TimeUnit.MILLISECONDS);
+
+        clock.advanceBySeconds(1);
+
+        assertThat(runTimes, is(asList(START.plusMillis(250))));
+        assertThat(wheel.pendingTimers(), is(0));
+    }
+
+    @Test
+    public void deadlineIsRoundedUpToNextTick() {
+        TimerWheel coarseWheel = new TimerWheel(clock, 100, TimeUnit.MILLISECONDS);
+        coarseWheel.schedule(this::recordRunTime, 250, TimeUnit.MILLISECONDS);
+
+        clock.advanceBySeconds(1);
+
+        assertThat(runTimes, is(asList(START.plusMillis(300))));
+    }
+
+    @Test
+    public void distantTimersCascadeDownToTheirTick() {
+        wheel.schedule(this::recordRunTime, 3, TimeUnit.DAYS);
+        wheel.schedule(this::recordRunTime, 90, TimeUnit.SECONDS);
+        wheel.schedule(this::recordRunTime, 365, TimeUnit.DAYS);
+
+        clock.advanceBy(Duration.ofDays(400));
+
+        assertThat(runTimes, is(asList(START.plusSeconds(90), START.plus(Duration.ofDays(3)),
+                START.plus(Duration.ofDays(365)))));
+    }
+
+    @Test
+    public void largeAdvanceFiresEveryTimerInDeadlineOrder() {
+        Random random = new Random(42);
+        List<Long> deadlines = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            long delay = random.nextInt(10_000_000);
+            wheel.schedule(() -> {
+                deadlines.add(delay);
+                runTimes.add(clock.instant());
+            }, delay, TimeUnit.MILLISECONDS);
+        }
+
+        clock.advanceByDays(1);
+
+        assertThat(runTimes.size(), is(10_000));
+        for (int i = 0; i < runTimes.size(); i++) {
+            assertThat(runTimes.get(i), is(START.plusMillis(deadlines.get(i))));
+            if (i > 0) {
+                assertThat(deadlines.get(i) >= deadlines.get(i - 1), is(true));
+            }
+        }
+    }
+
+    @Test
+    public void cancelledTimerDoesNotFire() {
+        long timerId = wheel.schedule(this::recordRunTime, 10, TimeUnit.SECONDS);
+
+        boolean cancelled = wheel.cancel(timerId);
+        clock.advanceByMinutes(1);
+
+        assertThat(cancelled, is(true));
+        assertThat(runTimes.isEmpty(), is(true));
+        assertThat(wheel.pendingTimers(), is(0));
+    }
+
+    @Test
+    public void cancellingFiredTimerFails() {
+        long timerId = wheel.schedule(this::recordRunTime, 10, TimeUnit.SECONDS);
+        clock.advanceByMinutes(1);
+
+        assertThat(wheel.cancel(timerId), is(false));
+    }
+
+    @Test
+    public void staleTimerIdDoesNotCancelRecycledTimer() {
+        long firstId = wheel.schedule(this::recordRunTime, 10, TimeUnit.SECONDS);
+        wheel.cancel(firstId);
+        wheel.schedule(this::recordRunTime, 20, TimeUnit.SECONDS);
+
+        assertThat(wheel.cancel(firstId), is(false));
+        clock.advanceByMinutes(1);
+
+        assertThat(runTimes, is(asList(START.plusSeconds(20))));
+    }
+
+    @Test
+    public void timerScheduledByFiringTimerFiresWithinSameAdvance() {
+        wheel.schedule(() -> wheel.schedule(this::recordRunTime, 5, TimeUnit.SECONDS), 5, TimeUnit.SECONDS);
+
+        clock.advanceBySeconds(10);
+
+        assertThat(runTimes, is(asList(START.plusSeconds(10))));
+    }
+
+    @Test
+    public void timerScheduledAfterIdleAdvanceUsesCurrentTime() {
+        clock.advanceByDays(2);
+        wheel.schedule(this::recordRunTime, 1, TimeUnit.SECONDS);
+
+        clock.advanceBySeconds(1);
+
+        assertThat(runTimes, is(asList(START.plus(Duration.ofDays(2)).plusSeconds(1))));
+    }
+
+    @Test
+    public void timerScheduledAfterClockMovesBackFiresAtItsDeadline() {
+        wheel.schedule(this::recordRunTime, 1, TimeUnit.SECONDS);
+        clock.advanceBySeconds(1);
+        clock.set(START.minusSeconds(9));
+
+        wheel.schedule(this::recordRunTime, 1, TimeUnit.SECONDS);
+        clock.advanceBySeconds(2);
+
+        assertThat(runTimes, is(asList(START.plusSeconds(1), START.minusSeconds(8))));
+    }
+
+    @Test
+    public void pendingTimersSurviveClockMovingBackBeforeOrigin() {
+        wheel.schedule(this::recordRunTime, 10, TimeUnit.SECONDS);
+        clock.set(START.minus(Duration.ofDays(1)));
+
+        wheel.schedule(this::recordRunTime, 90, TimeUnit.MINUTES);
+        clock.set(START.plusSeconds(20));
+
+        assertThat(runTimes, is(asList(START.minus(Duration.ofDays(1)).plus(Duration.ofMinutes(90)),
+                START.plusSeconds(10))));
+        assertThat(wheel.pendingTimers(), is(0));
+    }
+
+    private void recordRunTime() {
+        runTimes.add(clock.instant());
+    }
+}